@@ -0,0 +1,67 @@
+package com.marcotancredo.minhasfinancas.carga;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+// latências em microssegundos por operação; cada cliente tem a sua instância e elas são somadas no fim
+public class Estatisticas {
+
+    private final Map<Operacao, long[]> latencias = new EnumMap<>(Operacao.class);
+    private final Map<Operacao, Integer> quantidades = new EnumMap<>(Operacao.class);
+    private final Map<Operacao, Integer> erros = new EnumMap<>(Operacao.class);
+
+    public Estatisticas() {
+        for (Operacao operacao : Operacao.values()) {
+            latencias.put(operacao, new long[1024]);
+            quantidades.put(operacao, 0);
+            erros.put(operacao, 0);
+        }
+    }
+
+    public void registrar(Operacao operacao, long microssegundos, boolean sucesso) {
+        int quantidade = quantidades.get(operacao);
+        long[] valores = latencias.get(operacao);
+        if (quantidade == valores.length) {
+            valores = Arrays.copyOf(valores, valores.length * 2);
+            latencias.put(operacao, valores);
+        }
+        valores[quantidade] = microssegundos;
+        quantidades.put(operacao, quantidade + 1);
+        if (!sucesso) {
+            erros.merge(operacao, 1, Integer::sum);
+        }
+    }
+
+    public void somar(Estatisticas outra) {
+        for (Operacao operacao : Operacao.values()) {
+            long[] valores = outra.latencias.get(operacao);
+            for (int i = 0; i < outra.quantidades.get(operacao); i++) {
+                registrar(operacao, valores[i], true);
+            }
+            erros.merge(operacao, outra.erros.get(operacao), Integer::sum);
+        }
+    }
+
+    public int quantidade(Operacao operacao) {
+        return quantidades.get(operacao);
+    }
+
+    public int erros(Operacao operacao) {
+        return erros.get(operacao);
+    }
+
+    public long[] ordenadas(Operacao operacao) {
+        long[] valores = Arrays.copyOf(latencias.get(operacao), quantidades.get(operacao));
+        Arrays.sort(valores);
+        return valores;
+    }
+
+    public static long percentil(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int posicao = (int) Math.ceil(percentil * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(posicao, ordenadas.length - 1))];
+    }
+}
@@ -0,0 +1,61 @@
+package com.marcotancredo.minhasfinancas.carga;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// bytes alocados pela thread do Tomcat durante cada requisição, somados por operação
+public class FiltroAlocacao extends OncePerRequestFilter {
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final Map<Operacao, LongAdder> bytes = new EnumMap<>(Operacao.class);
+    private final Map<Operacao, LongAdder> requisicoes = new EnumMap<>(Operacao.class);
+
+    public FiltroAlocacao() {
+        for (Operacao operacao : Operacao.values()) {
+            bytes.put(operacao, new LongAdder());
+            requisicoes.put(operacao, new LongAdder());
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Operacao operacao = Operacao.classificar(request.getMethod(), request.getRequestURI());
+        if (operacao == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long idThread = Thread.currentThread().getId();
+        long antes = threads.getThreadAllocatedBytes(idThread);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bytes.get(operacao).add(threads.getThreadAllocatedBytes(idThread) - antes);
+            requisicoes.get(operacao).increment();
+        }
+    }
+
+    public long bytes(Operacao operacao) {
+        return bytes.get(operacao).sum();
+    }
+
+    public long requisicoes(Operacao operacao) {
+        return requisicoes.get(operacao).sum();
+    }
+
+    public void zerar() {
+        bytes.values().forEach(LongAdder::reset);
+        requisicoes.values().forEach(LongAdder::reset);
+    }
+}
@@ -0,0 +1,83 @@
+package com.marcotancredo.minhasfinancas.carga;
+
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import com.marcotancredo.minhasfinancas.model.service.LancamentoService;
+import com.marcotancredo.minhasfinancas.model.service.UsuarioService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// mesma semente, mesma massa de dados: usuários, descrições, valores e status se repetem entre execuções
+public class GeradorDados {
+
+    public static final String SENHA = "senha-carga";
+
+    private static final String[] DESCRICOES = {
+            "Supermercado", "Conta de luz", "Aluguel", "Salário", "Farmácia",
+            "Combustível", "Restaurante", "Internet", "Academia", "Freelance"
+    };
+    private static final int TAMANHO_LOTE = 1000;
+
+    private final Random random;
+
+    public GeradorDados(long semente) {
+        this.random = new Random(semente);
+    }
+
+    public record UsuarioGerado(long id, String email, long[] lancamentos) {
+    }
+
+    public List<UsuarioGerado> gerar(UsuarioService usuarioService, LancamentoService lancamentoService,
+                                     int usuarios, int lancamentosPorUsuario) {
+        List<UsuarioGerado> gerados = new ArrayList<>(usuarios);
+        for (int i = 0; i < usuarios; i++) {
+            Usuario usuario = usuarioService.salvarUsuario(Usuario.builder()
+                    .nome("Usuário " + i)
+                    .email("usuario" + i + "@carga.local")
+                    .senha(SENHA)
+                    .build());
+
+            long[] ids = new long[lancamentosPorUsuario];
+            int gravados = 0;
+            while (gravados < lancamentosPorUsuario) {
+                int tamanho = Math.min(TAMANHO_LOTE, lancamentosPorUsuario - gravados);
+                List<Lancamento> lote = new ArrayList<>(tamanho);
+                for (int j = 0; j < tamanho; j++) {
+                    lote.add(novoLancamento(random, usuario));
+                }
+                for (Lancamento salvo : lancamentoService.salvarEmLote(lote)) {
+                    ids[gravados++] = salvo.getId();
+                }
+            }
+
+            // parte dos meses já efetivada, para o saldo não ficar sempre zerado
+            for (int mes = 1; mes <= 12; mes++) {
+                if (random.nextInt(3) > 0) {
+                    Lancamento filtro = new Lancamento();
+                    filtro.setUsuario(usuario);
+                    filtro.setMes(mes);
+                    lancamentoService.atualizarStatusEmLote(filtro, null, StatusLancamento.EFETIVADO);
+                }
+            }
+
+            gerados.add(new UsuarioGerado(usuario.getId(), usuario.getEmail(), ids));
+        }
+        return gerados;
+    }
+
+    public static Lancamento novoLancamento(Random random, Usuario usuario) {
+        return Lancamento.builder()
+                .descricao(DESCRICOES[random.nextInt(DESCRICOES.length)] + " " + (random.nextInt(900) + 100))
+                .ano(2018 + random.nextInt(3))
+                .mes(1 + random.nextInt(12))
+                .valor(BigDecimal.valueOf(100 + random.nextInt(500_000), 2))
+                .tipo(random.nextInt(10) < 3 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA)
+                .usuario(usuario)
+                .build();
+    }
+}
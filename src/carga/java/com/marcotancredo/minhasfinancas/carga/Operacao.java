@@ -0,0 +1,54 @@
+package com.marcotancredo.minhasfinancas.carga;
+
+public enum Operacao {
+
+    AUTENTICAR(5),
+    LISTAR(40),
+    SALDO(30),
+    CRIAR(15),
+    ATUALIZAR_STATUS(10);
+
+    private final int peso;
+
+    Operacao(int peso) {
+        this.peso = peso;
+    }
+
+    public static Operacao sortear(int valor) {
+        int acumulado = 0;
+        for (Operacao operacao : values()) {
+            acumulado += operacao.peso;
+            if (valor < acumulado) {
+                return operacao;
+            }
+        }
+        return LISTAR;
+    }
+
+    public static int somaPesos() {
+        int soma = 0;
+        for (Operacao operacao : values()) {
+            soma += operacao.peso;
+        }
+        return soma;
+    }
+
+    public static Operacao classificar(String metodo, String uri) {
+        if ("POST".equals(metodo) && uri.equals("/api/usuarios/autenticar")) {
+            return AUTENTICAR;
+        }
+        if ("GET".equals(metodo) && uri.equals("/api/lancamentos")) {
+            return LISTAR;
+        }
+        if ("GET".equals(metodo) && uri.startsWith("/api/usuarios/") && uri.endsWith("/saldo")) {
+            return SALDO;
+        }
+        if ("POST".equals(metodo) && uri.equals("/api/lancamentos")) {
+            return CRIAR;
+        }
+        if ("PUT".equals(metodo) && uri.endsWith("/atualiza-status") && !uri.equals("/api/lancamentos/atualiza-status")) {
+            return ATUALIZAR_STATUS;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,226 @@
+package com.marcotancredo.minhasfinancas.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcotancredo.minhasfinancas.MinhasfinancasApplication;
+import com.marcotancredo.minhasfinancas.carga.GeradorDados.UsuarioGerado;
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.service.LancamentoService;
+import com.marcotancredo.minhasfinancas.model.service.UsuarioService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// sobe a aplicação com o perfil de teste (H2), gera a massa de dados e dispara a mistura de operações pela API REST;
+// argumentos opcionais no formato nome=valor, separados por vírgula ou espaço (o prefixo -- é aceito):
+// usuarios, lancamentos (por usuário), clientes, aquecimento e duracao (segundos), semente e saida (arquivo JSON)
+public class TesteCarga {
+
+    private final Map<String, String> parametros;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private String baseUrl;
+    private List<UsuarioGerado> usuarios;
+
+    TesteCarga(Map<String, String> parametros) {
+        this.parametros = parametros;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> parametros = new HashMap<>();
+        for (String arg : String.join(",", args).split("[,\\s]+")) {
+            String parametro = arg.startsWith("--") ? arg.substring(2) : arg;
+            if (parametro.contains("=")) {
+                parametros.put(parametro.substring(0, parametro.indexOf('=')),
+                        parametro.substring(parametro.indexOf('=') + 1));
+            }
+        }
+        new TesteCarga(parametros).executar();
+    }
+
+    private int inteiro(String nome, int padrao) {
+        return Integer.parseInt(parametros.getOrDefault(nome, String.valueOf(padrao)));
+    }
+
+    void executar() throws Exception {
+        FiltroAlocacao filtro = new FiltroAlocacao();
+        FilterRegistrationBean<FiltroAlocacao> registro = new FilterRegistrationBean<>(filtro);
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MinhasfinancasApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("filtroAlocacao", registro))
+                .run()) {
+
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            long semente = Long.parseLong(parametros.getOrDefault("semente", "42"));
+            long inicioGeracao = System.nanoTime();
+            usuarios = new GeradorDados(semente).gerar(context.getBean(UsuarioService.class),
+                    context.getBean(LancamentoService.class), inteiro("usuarios", 20), inteiro("lancamentos", 1000));
+            System.out.printf("Massa gerada em %d ms%n", (System.nanoTime() - inicioGeracao) / 1_000_000);
+
+            int clientes = inteiro("clientes", 8);
+            rodada(clientes, inteiro("aquecimento", 10), semente);
+            filtro.zerar();
+
+            int duracao = inteiro("duracao", 30);
+            Estatisticas estatisticas = rodada(clientes, duracao, semente + 1);
+            relatar(estatisticas, filtro, duracao);
+        }
+    }
+
+    private Estatisticas rodada(int clientes, int segundos, long semente) throws Exception {
+        long fim = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(clientes);
+        try {
+            List<Future<Estatisticas>> resultados = new ArrayList<>();
+            for (int i = 0; i < clientes; i++) {
+                Random random = new Random(semente * 31 + i);
+                resultados.add(executor.submit(() -> cliente(random, fim)));
+            }
+            Estatisticas total = new Estatisticas();
+            for (Future<Estatisticas> resultado : resultados) {
+                total.somar(resultado.get());
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Estatisticas cliente(Random random, long fim) throws Exception {
+        Estatisticas estatisticas = new Estatisticas();
+        UsuarioGerado usuario = usuarios.get(random.nextInt(usuarios.size()));
+        String token = autenticar(usuario, estatisticas);
+        int somaPesos = Operacao.somaPesos();
+
+        while (System.nanoTime() < fim) {
+            Operacao operacao = Operacao.sortear(random.nextInt(somaPesos));
+            if (operacao == Operacao.AUTENTICAR) {
+                usuario = usuarios.get(random.nextInt(usuarios.size()));
+                String novoToken = autenticar(usuario, estatisticas);
+                token = novoToken != null ? novoToken : token;
+                continue;
+            }
+            executar(operacao, requisicao(operacao, usuario, random, token), estatisticas);
+        }
+        return estatisticas;
+    }
+
+    private String autenticar(UsuarioGerado usuario, Estatisticas estatisticas) throws Exception {
+        Map<String, String> credenciais = Map.of("email", usuario.email(), "senha", GeradorDados.SENHA);
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(baseUrl + "/api/usuarios/autenticar"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(credenciais)))
+                .build();
+        HttpResponse<String> resposta = executar(Operacao.AUTENTICAR, requisicao, estatisticas);
+        if (resposta.statusCode() != 200) {
+            return null;
+        }
+        return objectMapper.readTree(resposta.body()).path("token").asText();
+    }
+
+    private HttpRequest requisicao(Operacao operacao, UsuarioGerado usuario, Random random, String token)
+            throws IOException {
+        HttpRequest.Builder builder;
+        switch (operacao) {
+            case LISTAR -> builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/lancamentos?usuario="
+                    + usuario.id() + "&ano=" + (2018 + random.nextInt(3)) + "&limite=50")).GET();
+            case SALDO -> builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/usuarios/" + usuario.id()
+                    + "/saldo")).GET();
+            case CRIAR -> {
+                Map<String, Object> lancamento = new LinkedHashMap<>();
+                Lancamento novo = GeradorDados.novoLancamento(random, Usuario.builder().id(usuario.id()).build());
+                lancamento.put("descricao", novo.getDescricao());
+                lancamento.put("mes", novo.getMes());
+                lancamento.put("ano", novo.getAno());
+                lancamento.put("valor", novo.getValor());
+                lancamento.put("tipo", novo.getTipo().name());
+                lancamento.put("usuario", usuario.id());
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/lancamentos"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(lancamento)));
+            }
+            case ATUALIZAR_STATUS -> {
+                long id = usuario.lancamentos()[random.nextInt(usuario.lancamentos().length)];
+                String status = random.nextBoolean() ? "EFETIVADO" : "CANCELADO";
+                builder = HttpRequest.newBuilder(URI.create(baseUrl + "/api/lancamentos/" + id + "/atualiza-status"))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"" + status + "\"}"));
+            }
+            default -> throw new IllegalArgumentException(operacao.name());
+        }
+        return builder.header("Authorization", "Bearer " + token).build();
+    }
+
+    private HttpResponse<String> executar(Operacao operacao, HttpRequest requisicao, Estatisticas estatisticas)
+            throws Exception {
+        long inicio = System.nanoTime();
+        HttpResponse<String> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        long microssegundos = (System.nanoTime() - inicio) / 1_000;
+        estatisticas.registrar(operacao, microssegundos, resposta.statusCode() < 400);
+        return resposta;
+    }
+
+    private void relatar(Estatisticas estatisticas, FiltroAlocacao filtro, int duracao) throws IOException {
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        System.out.printf("%-18s %10s %8s %10s %10s %10s %10s %14s %12s%n", "operação", "requisições", "erros",
+                "req/s", "p50 ms", "p99 ms", "p999 ms", "bytes/req", "MB/s aloc.");
+
+        for (Operacao operacao : Operacao.values()) {
+            long[] latencias = estatisticas.ordenadas(operacao);
+            long requisicoesServidor = filtro.requisicoes(operacao);
+            long bytes = filtro.bytes(operacao);
+
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("operacao", operacao.name());
+            linha.put("requisicoes", estatisticas.quantidade(operacao));
+            linha.put("erros", estatisticas.erros(operacao));
+            linha.put("requisicoesPorSegundo", (double) estatisticas.quantidade(operacao) / duracao);
+            linha.put("p50Ms", Estatisticas.percentil(latencias, 0.50) / 1000.0);
+            linha.put("p99Ms", Estatisticas.percentil(latencias, 0.99) / 1000.0);
+            linha.put("p999Ms", Estatisticas.percentil(latencias, 0.999) / 1000.0);
+            linha.put("bytesAlocadosPorRequisicao", requisicoesServidor == 0 ? 0 : bytes / requisicoesServidor);
+            linha.put("megabytesAlocadosPorSegundo", bytes / 1_048_576.0 / duracao);
+            linhas.add(linha);
+
+            System.out.printf("%-18s %10d %8d %10.1f %10.2f %10.2f %10.2f %14d %12.1f%n", operacao.name(),
+                    linha.get("requisicoes"), linha.get("erros"), linha.get("requisicoesPorSegundo"),
+                    linha.get("p50Ms"), linha.get("p99Ms"), linha.get("p999Ms"),
+                    linha.get("bytesAlocadosPorRequisicao"), linha.get("megabytesAlocadosPorSegundo"));
+        }
+
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("parametros", parametros);
+        relatorio.put("duracaoSegundos", duracao);
+        relatorio.put("operacoes", linhas);
+
+        File saida = new File(parametros.getOrDefault("saida", "target/carga-resultado.json"));
+        if (saida.getParentFile() != null) {
+            saida.getParentFile().mkdirs();
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(saida, relatorio);
+        System.out.println("Relatório gravado em " + saida.getAbsolutePath());
+    }
+}
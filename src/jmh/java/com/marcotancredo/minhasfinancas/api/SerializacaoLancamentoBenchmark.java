@@ -0,0 +1,109 @@
+package com.marcotancredo.minhasfinancas.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO;
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoLancamentoBenchmark {
+
+    @Param({"100", "1000"})
+    int quantidade;
+
+    List<Lancamento> entidades;
+    List<LancamentoDTO> dtos;
+
+    ObjectMapper json;
+    ObjectMapper cbor;
+    ObjectMapper smile;
+    LancamentoProtobufHttpMessageConverter protobuf;
+
+    // tamanho da última lista serializada, aparece como métrica secundária "bytes" no resultado
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Tamanho {
+        public long bytes;
+    }
+
+    @Setup
+    public void setUp() {
+        json = new ObjectMapper().registerModule(new JavaTimeModule());
+        cbor = new CBORMapper();
+        smile = new SmileMapper();
+        protobuf = new LancamentoProtobufHttpMessageConverter();
+
+        Usuario usuario = Usuario.builder().id(1L).nome("usuario").email("usuario@email.com").build();
+        entidades = new ArrayList<>(quantidade);
+        dtos = new ArrayList<>(quantidade);
+        for (long id = 1; id <= quantidade; id++) {
+            Lancamento lancamento = Lancamento.builder()
+                    .id(id)
+                    .descricao("Lançamento " + id)
+                    .mes((int) (id % 12) + 1)
+                    .ano(2019)
+                    .valor(BigDecimal.valueOf(id * 137, 2))
+                    .usuario(usuario)
+                    .dataCadastro(LocalDate.of(2019, 1, 1))
+                    .tipo(id % 2 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA)
+                    .status(StatusLancamento.PENDENTE)
+                    .versao(0L)
+                    .build();
+            entidades.add(lancamento);
+            dtos.add(new LancamentoDTO(lancamento.getId(), lancamento.getDescricao(), lancamento.getMes(),
+                    lancamento.getAno(), lancamento.getValor(), usuario.getId(), lancamento.getTipo(),
+                    lancamento.getStatus(), lancamento.getVersao()));
+        }
+    }
+
+    @Benchmark
+    public byte[] jsonEntidades(Tamanho tamanho) throws IOException {
+        return registrar(tamanho, json.writeValueAsBytes(entidades));
+    }
+
+    @Benchmark
+    public byte[] jsonDTOs(Tamanho tamanho) throws IOException {
+        return registrar(tamanho, json.writeValueAsBytes(dtos));
+    }
+
+    @Benchmark
+    public byte[] cborDTOs(Tamanho tamanho) throws IOException {
+        return registrar(tamanho, cbor.writeValueAsBytes(dtos));
+    }
+
+    @Benchmark
+    public byte[] smileDTOs(Tamanho tamanho) throws IOException {
+        return registrar(tamanho, smile.writeValueAsBytes(dtos));
+    }
+
+    @Benchmark
+    public byte[] protobufDTOs(Tamanho tamanho) throws IOException {
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+        protobuf.write(dtos, LancamentoProtobufHttpMessageConverter.APPLICATION_PROTOBUF, saida);
+        return registrar(tamanho, saida.getBodyAsBytes());
+    }
+
+    private static byte[] registrar(Tamanho tamanho, byte[] conteudo) {
+        tamanho.bytes = conteudo.length;
+        return conteudo;
+    }
+}
@@ -0,0 +1,82 @@
+package com.marcotancredo.minhasfinancas.api.resource;
+
+import com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO;
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import com.marcotancredo.minhasfinancas.model.service.UsuarioService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversaoLancamentoBenchmark {
+
+    LancamentoResource resource;
+    Lancamento lancamento;
+    LancamentoDTO dto;
+
+    @Setup
+    public void setUp() {
+        Usuario usuario = Usuario.builder().id(1L).nome("usuario").email("usuario@email.com").build();
+        resource = new LancamentoResource(null, new UsuarioFixo(usuario), null, null, null);
+        lancamento = Lancamento.builder()
+                .id(10L)
+                .descricao("Conta de luz")
+                .mes(3)
+                .ano(2019)
+                .valor(new BigDecimal("150.25"))
+                .usuario(usuario)
+                .tipo(TipoLancamento.DESPESA)
+                .status(StatusLancamento.PENDENTE)
+                .versao(0L)
+                .build();
+        dto = resource.converter(lancamento);
+    }
+
+    @Benchmark
+    public LancamentoDTO converterParaDTO() {
+        return resource.converter(lancamento);
+    }
+
+    @Benchmark
+    public Lancamento converterParaEntidade() {
+        return resource.converter(dto);
+    }
+
+    static class UsuarioFixo implements UsuarioService {
+
+        private final Optional<Usuario> usuario;
+
+        UsuarioFixo(Usuario usuario) {
+            this.usuario = Optional.of(usuario);
+        }
+
+        @Override
+        public Usuario autenticar(String email, String senha) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Usuario salvarUsuario(Usuario usuario) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void validarEmail(String email) {
+        }
+
+        @Override
+        public Optional<Usuario> obterPorId(Long id) {
+            return usuario;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.service.impl.JwtServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    JwtService service;
+    Usuario usuario;
+    String token;
+
+    @Setup
+    public void setUp() {
+        service = new JwtServiceImpl("30", "cmlkZGlrdWx1cw==", 10000, new SimpleMeterRegistry());
+        usuario = Usuario.builder().id(1L).nome("usuario").email("usuario@email.com").build();
+        token = service.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return service.gerarToken(usuario);
+    }
+
+    // verificação completa da assinatura a cada chamada
+    @Benchmark
+    public Claims obterClaims() {
+        return service.obterClaims(token);
+    }
+
+    // mesmo token repetido: a partir da segunda chamada vem do cache de claims verificadas
+    @Benchmark
+    public boolean isTokenValido() {
+        return service.isTokenValido(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> obterClaimsValidas() {
+        return service.obterClaimsValidas(token);
+    }
+}
@@ -0,0 +1,69 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import com.marcotancredo.minhasfinancas.MinhasfinancasApplication;
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import com.marcotancredo.minhasfinancas.model.repository.UsuarioRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// sobe a aplicação com o perfil de teste (H2); o resultado em ops/s equivale a linhas inseridas por segundo
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoteLancamentoBenchmark {
+
+    private static final int TAMANHO_LOTE = 500;
+
+    ConfigurableApplicationContext context;
+    LancamentoService service;
+    Usuario usuario;
+    List<Lancamento> lote;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        context = new SpringApplicationBuilder(MinhasfinancasApplication.class)
+                .profiles("test")
+                .properties("server.port=0")
+                .run();
+        service = context.getBean(LancamentoService.class);
+        usuario = context.getBean(UsuarioRepository.class)
+                .save(Usuario.builder().nome("benchmark").email("benchmark@email.com").senha("senha").build());
+    }
+
+    @Setup(Level.Invocation)
+    public void criarLote() {
+        lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < TAMANHO_LOTE; i++) {
+            lote.add(Lancamento.builder()
+                    .descricao("Lançamento " + i)
+                    .mes(i % 12 + 1)
+                    .ano(2019)
+                    .valor(BigDecimal.valueOf(i + 1))
+                    .usuario(usuario)
+                    .tipo(TipoLancamento.DESPESA)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANHO_LOTE)
+    public List<Lancamento> salvarEmLote() {
+        return service.salvarEmLote(lote);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        context.close();
+    }
+}
@@ -0,0 +1,61 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException;
+import com.marcotancredo.minhasfinancas.model.service.impl.LancamentoServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoLancamentoBenchmark {
+
+    LancamentoServiceImpl service;
+    Lancamento valido;
+    Lancamento anoInvalido;
+
+    @Setup
+    public void setUp() {
+        // validar não usa as dependências do serviço
+        service = new LancamentoServiceImpl(null, null, null, null, null, null, null, null, null);
+        valido = Lancamento.builder()
+                .descricao("Conta de luz")
+                .mes(3)
+                .ano(2019)
+                .valor(new BigDecimal("150.25"))
+                .usuario(Usuario.builder().id(1L).build())
+                .tipo(TipoLancamento.DESPESA)
+                .status(StatusLancamento.PENDENTE)
+                .build();
+        anoInvalido = Lancamento.builder()
+                .descricao("Conta de luz")
+                .mes(3)
+                .ano(201)
+                .build();
+    }
+
+    @Benchmark
+    public Lancamento validarLancamentoValido() {
+        service.validar(valido);
+        return valido;
+    }
+
+    @Benchmark
+    public RegraNegocioException validarAnoInvalido() {
+        try {
+            service.validar(anoInvalido);
+            return null;
+        } catch (RegraNegocioException ex) {
+            return ex;
+        }
+    }
+}
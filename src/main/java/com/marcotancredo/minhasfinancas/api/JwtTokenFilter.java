@@ -2,6 +2,10 @@ package com.marcotancredo.minhasfinancas.api;
 
 import com.marcotancredo.minhasfinancas.model.service.JwtService;
 import com.marcotancredo.minhasfinancas.model.service.impl.SecurityUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,15 +17,29 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 public class JwtTokenFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final SecurityUserDetailsService userDetailsService;
+    private final boolean consultarUsuario;
+    private final Timer verificacaoValida;
+    private final Timer verificacaoInvalida;
+    private final Counter rejeicoesInvalido;
+    private final Counter rejeicoesMalformado;
 
-    public JwtTokenFilter(JwtService jwtService, SecurityUserDetailsService userDetailsService) {
+    public JwtTokenFilter(JwtService jwtService, SecurityUserDetailsService userDetailsService,
+                          boolean consultarUsuario, MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.consultarUsuario = consultarUsuario;
+
+        this.verificacaoValida = timerVerificacao("valido", meterRegistry);
+        this.verificacaoInvalida = timerVerificacao("invalido", meterRegistry);
+        this.rejeicoesInvalido = contadorRejeicoes("invalido", meterRegistry);
+        this.rejeicoesMalformado = contadorRejeicoes("malformado", meterRegistry);
     }
 
     @Override
@@ -30,12 +48,22 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         String authorization = request.getHeader("Authorization");
 
         if (authorization != null && authorization.startsWith("Bearer")) {
-            String token = authorization.split(" ")[1];
-            boolean isTokenValid = jwtService.isTokenValido(token);
+            String[] partes = authorization.split(" ");
+            if (partes.length < 2) {
+                rejeicoesMalformado.increment();
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            long inicio = System.nanoTime();
+            Optional<Claims> claims = jwtService.obterClaimsValidas(partes[1]);
+            Timer verificacao = claims.isPresent() ? verificacaoValida : verificacaoInvalida;
+            verificacao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
 
-            if (isTokenValid) {
-                String login = jwtService.obterLoginUsuario(token);
-                UserDetails usuarioAutenticado = userDetailsService.loadUserByUsername(login);
+            if (claims.isEmpty()) {
+                rejeicoesInvalido.increment();
+            } else {
+                UserDetails usuarioAutenticado = obterUsuario(claims.get());
 
                 UsernamePasswordAuthenticationToken user =
                         new UsernamePasswordAuthenticationToken(usuarioAutenticado, null, usuarioAutenticado.getAuthorities());
@@ -48,4 +76,30 @@ public class JwtTokenFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails obterUsuario(Claims claims) {
+        if (consultarUsuario) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        // id e e-mail vêm do token, sem consulta ao banco
+        Object id = claims.get("userId");
+        return userDetailsService.criarPrincipal(id instanceof Number numero ? numero.longValue() : null,
+                claims.getSubject(), "");
+    }
+
+    private static Timer timerVerificacao(String resultado, MeterRegistry meterRegistry) {
+        return Timer.builder("minhasfinancas.jwt.verificacao")
+                .description("Tempo de verificação do token enviado no cabeçalho Authorization")
+                .tag("resultado", resultado)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static Counter contadorRejeicoes(String motivo, MeterRegistry meterRegistry) {
+        return Counter.builder("minhasfinancas.jwt.rejeicoes")
+                .description("Requisições com token Bearer recusado")
+                .tag("motivo", motivo)
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,171 @@
+package com.marcotancredo.minhasfinancas.api;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO;
+import com.marcotancredo.minhasfinancas.api.dto.PaginaLancamentosDTO;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Collection;
+
+// formato descrito em src/main/proto/lancamento.proto, escrito sem classes geradas pelo protoc
+public class LancamentoProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final int LANCAMENTOS_LANCAMENTO = 1;
+    private static final int LANCAMENTOS_PROXIMO = 2;
+
+    private static final int LANCAMENTO_ID = 1;
+    private static final int LANCAMENTO_DESCRICAO = 2;
+    private static final int LANCAMENTO_MES = 3;
+    private static final int LANCAMENTO_ANO = 4;
+    private static final int LANCAMENTO_VALOR = 5;
+    private static final int LANCAMENTO_USUARIO = 6;
+    private static final int LANCAMENTO_TIPO = 7;
+    private static final int LANCAMENTO_STATUS = 8;
+    private static final int LANCAMENTO_VERSAO = 9;
+
+    private static final int DECIMAL_VALOR_SEM_ESCALA = 1;
+    private static final int DECIMAL_ESCALA = 2;
+
+    public LancamentoProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return LancamentoDTO.class == clazz || PaginaLancamentosDTO.class == clazz
+                || Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Leitura de protobuf não suportada", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object objeto, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream saida = CodedOutputStream.newInstance(outputMessage.getBody());
+        if (objeto instanceof LancamentoDTO lancamento) {
+            escreverLancamento(saida, lancamento);
+        } else if (objeto instanceof PaginaLancamentosDTO pagina) {
+            escreverLancamentos(saida, pagina.getLancamentos(), pagina.getProximo());
+        } else {
+            escreverLancamentos(saida, (Collection<?>) objeto, null);
+        }
+        saida.flush();
+    }
+
+    private static void escreverLancamentos(CodedOutputStream saida, Collection<?> lancamentos, String proximo)
+            throws IOException {
+        if (lancamentos != null) {
+            for (Object item : lancamentos) {
+                if (!(item instanceof LancamentoDTO lancamento)) {
+                    throw new HttpMessageNotWritableException("Protobuf disponível apenas para lançamentos");
+                }
+                saida.writeTag(LANCAMENTOS_LANCAMENTO, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                saida.writeUInt32NoTag(tamanhoLancamento(lancamento));
+                escreverLancamento(saida, lancamento);
+            }
+        }
+        if (proximo != null) {
+            saida.writeString(LANCAMENTOS_PROXIMO, proximo);
+        }
+    }
+
+    private static void escreverLancamento(CodedOutputStream saida, LancamentoDTO lancamento) throws IOException {
+        if (lancamento.getId() != null) {
+            saida.writeInt64(LANCAMENTO_ID, lancamento.getId());
+        }
+        if (lancamento.getDescricao() != null) {
+            saida.writeString(LANCAMENTO_DESCRICAO, lancamento.getDescricao());
+        }
+        if (lancamento.getMes() != null) {
+            saida.writeInt32(LANCAMENTO_MES, lancamento.getMes());
+        }
+        if (lancamento.getAno() != null) {
+            saida.writeInt32(LANCAMENTO_ANO, lancamento.getAno());
+        }
+        if (lancamento.getValor() != null) {
+            saida.writeTag(LANCAMENTO_VALOR, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            saida.writeUInt32NoTag(tamanhoDecimal(lancamento.getValor()));
+            saida.writeSInt64(DECIMAL_VALOR_SEM_ESCALA, lancamento.getValor().unscaledValue().longValueExact());
+            saida.writeInt32(DECIMAL_ESCALA, lancamento.getValor().scale());
+        }
+        if (lancamento.getUsuario() != null) {
+            saida.writeInt64(LANCAMENTO_USUARIO, lancamento.getUsuario());
+        }
+        if (lancamento.getTipo() != null) {
+            saida.writeEnum(LANCAMENTO_TIPO, numeroTipo(lancamento.getTipo()));
+        }
+        if (lancamento.getStatus() != null) {
+            saida.writeEnum(LANCAMENTO_STATUS, numeroStatus(lancamento.getStatus()));
+        }
+        if (lancamento.getVersao() != null) {
+            saida.writeInt64(LANCAMENTO_VERSAO, lancamento.getVersao());
+        }
+    }
+
+    private static int tamanhoLancamento(LancamentoDTO lancamento) {
+        int tamanho = 0;
+        if (lancamento.getId() != null) {
+            tamanho += CodedOutputStream.computeInt64Size(LANCAMENTO_ID, lancamento.getId());
+        }
+        if (lancamento.getDescricao() != null) {
+            tamanho += CodedOutputStream.computeStringSize(LANCAMENTO_DESCRICAO, lancamento.getDescricao());
+        }
+        if (lancamento.getMes() != null) {
+            tamanho += CodedOutputStream.computeInt32Size(LANCAMENTO_MES, lancamento.getMes());
+        }
+        if (lancamento.getAno() != null) {
+            tamanho += CodedOutputStream.computeInt32Size(LANCAMENTO_ANO, lancamento.getAno());
+        }
+        if (lancamento.getValor() != null) {
+            int tamanhoValor = tamanhoDecimal(lancamento.getValor());
+            tamanho += CodedOutputStream.computeTagSize(LANCAMENTO_VALOR)
+                    + CodedOutputStream.computeUInt32SizeNoTag(tamanhoValor) + tamanhoValor;
+        }
+        if (lancamento.getUsuario() != null) {
+            tamanho += CodedOutputStream.computeInt64Size(LANCAMENTO_USUARIO, lancamento.getUsuario());
+        }
+        if (lancamento.getTipo() != null) {
+            tamanho += CodedOutputStream.computeEnumSize(LANCAMENTO_TIPO, numeroTipo(lancamento.getTipo()));
+        }
+        if (lancamento.getStatus() != null) {
+            tamanho += CodedOutputStream.computeEnumSize(LANCAMENTO_STATUS, numeroStatus(lancamento.getStatus()));
+        }
+        if (lancamento.getVersao() != null) {
+            tamanho += CodedOutputStream.computeInt64Size(LANCAMENTO_VERSAO, lancamento.getVersao());
+        }
+        return tamanho;
+    }
+
+    private static int tamanhoDecimal(BigDecimal valor) {
+        return CodedOutputStream.computeSInt64Size(DECIMAL_VALOR_SEM_ESCALA, valor.unscaledValue().longValueExact())
+                + CodedOutputStream.computeInt32Size(DECIMAL_ESCALA, valor.scale());
+    }
+
+    // os enums do .proto reservam o zero para "não informado" e seguem a ordem dos enums Java
+    private static int numeroTipo(String tipo) {
+        return TipoLancamento.valueOf(tipo).ordinal() + 1;
+    }
+
+    private static int numeroStatus(String status) {
+        return StatusLancamento.valueOf(status).ordinal() + 1;
+    }
+}
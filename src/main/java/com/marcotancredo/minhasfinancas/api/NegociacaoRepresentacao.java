@@ -0,0 +1,49 @@
+package com.marcotancredo.minhasfinancas.api;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// o mesmo recurso sai em JSON, CBOR, Smile ou Protobuf conforme o Accept: a ETag precisa identificar o
+// formato, e a resposta avisa os caches que ela varia pelo Accept
+public final class NegociacaoRepresentacao {
+
+    private static final List<MediaType> PRODUZIDOS = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"),
+            LancamentoProtobufHttpMessageConverter.APPLICATION_PROTOBUF);
+
+    private NegociacaoRepresentacao() {
+    }
+
+    public static MediaType resolver(WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null
+                && !servletRequest.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+            servletRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+
+        List<MediaType> aceitos;
+        try {
+            aceitos = new ArrayList<>(MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT)));
+        } catch (InvalidMediaTypeException ex) {
+            aceitos = new ArrayList<>();
+        }
+        MimeTypeUtils.sortBySpecificity(aceitos);
+
+        for (MediaType aceito : aceitos) {
+            for (MediaType produzido : PRODUZIDOS) {
+                if (aceito.isCompatibleWith(produzido)) {
+                    return produzido;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
@@ -0,0 +1,39 @@
+package com.marcotancredo.minhasfinancas.api;
+
+import com.marcotancredo.minhasfinancas.config.ContadorSql;
+import com.marcotancredo.minhasfinancas.config.ContagemSql;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Slf4j
+public class OrcamentoSqlFilter extends OncePerRequestFilter {
+
+    private final int maximoComandos;
+    private final long maximoLinhas;
+
+    public OrcamentoSqlFilter(int maximoComandos, long maximoLinhas) {
+        this.maximoComandos = maximoComandos;
+        this.maximoLinhas = maximoLinhas;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ContagemSql contagem = ContadorSql.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ContadorSql.encerrar(contagem);
+            if (contagem.getComandos() > maximoComandos || contagem.getLinhas() > maximoLinhas) {
+                log.warn("{} {} excedeu o orçamento de SQL ({} comandos, {} linhas): {}", request.getMethod(),
+                        request.getRequestURI(), maximoComandos, maximoLinhas, contagem);
+            }
+        }
+    }
+}
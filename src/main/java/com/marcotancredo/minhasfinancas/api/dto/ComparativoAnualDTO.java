@@ -0,0 +1,26 @@
+package com.marcotancredo.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComparativoAnualDTO {
+
+    private Integer ano;
+    private Integer anoAnterior;
+    private BigDecimal receitas;
+    private BigDecimal receitasAnoAnterior;
+    private BigDecimal despesas;
+    private BigDecimal despesasAnoAnterior;
+    private BigDecimal saldo;
+    private BigDecimal saldoAnoAnterior;
+    private List<ComparativoMensalDTO> meses;
+}
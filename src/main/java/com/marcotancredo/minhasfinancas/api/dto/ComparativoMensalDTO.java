@@ -0,0 +1,23 @@
+package com.marcotancredo.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComparativoMensalDTO {
+
+    private Integer mes;
+    private BigDecimal receitas;
+    private BigDecimal receitasAnoAnterior;
+    private BigDecimal despesas;
+    private BigDecimal despesasAnoAnterior;
+    private BigDecimal saldo;
+    private BigDecimal saldoAnoAnterior;
+}
@@ -1,5 +1,7 @@
 package com.marcotancredo.minhasfinancas.api.dto;
 
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,4 +23,13 @@ public class LancamentoDTO {
     private Long usuario;
     private String tipo;
     private String status;
+    private Long versao;
+
+    public LancamentoDTO(Long id, String descricao, Integer mes, Integer ano, BigDecimal valor, Long usuario,
+                         TipoLancamento tipo, StatusLancamento status, Long versao) {
+        this(id, descricao, mes, ano, valor, usuario,
+                tipo == null ? null : tipo.name(),
+                status == null ? null : status.name(),
+                versao);
+    }
 }
@@ -0,0 +1,18 @@
+package com.marcotancredo.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaLancamentosDTO {
+
+    private List<LancamentoDTO> lancamentos;
+    private String proximo;
+}
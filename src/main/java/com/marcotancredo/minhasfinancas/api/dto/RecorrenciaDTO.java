@@ -0,0 +1,27 @@
+package com.marcotancredo.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecorrenciaDTO {
+
+    private Long id;
+    private Long usuario;
+    private String descricao;
+    private BigDecimal valor;
+    private String tipo;
+    private String periodicidade;
+    private Integer mes;
+    private Integer ano;
+    private Integer quantidade;
+    private boolean parcelado;
+    private Integer parcelasGeradas;
+}
@@ -0,0 +1,12 @@
+package com.marcotancredo.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoLoteDTO {
+    private int quantidade;
+}
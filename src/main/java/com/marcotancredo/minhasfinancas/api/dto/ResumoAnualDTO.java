@@ -0,0 +1,22 @@
+package com.marcotancredo.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoAnualDTO {
+
+    private Integer ano;
+    private BigDecimal receitas;
+    private BigDecimal despesas;
+    private BigDecimal saldo;
+    private List<ResumoMensalDTO> meses;
+}
@@ -0,0 +1,23 @@
+package com.marcotancredo.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensalDTO {
+
+    private Integer mes;
+    private BigDecimal receitas;
+    private BigDecimal despesas;
+    private BigDecimal saldo;
+    private Map<String, BigDecimal> receitasPorStatus;
+    private Map<String, BigDecimal> despesasPorStatus;
+}
@@ -1,21 +1,49 @@
 package com.marcotancredo.minhasfinancas.api.resource;
 
+import com.marcotancredo.minhasfinancas.api.NegociacaoRepresentacao;
 import com.marcotancredo.minhasfinancas.api.dto.AtualizaStatusDTO;
 import com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO;
+import com.marcotancredo.minhasfinancas.api.dto.PaginaLancamentosDTO;
+import com.marcotancredo.minhasfinancas.api.dto.ResultadoLoteDTO;
 import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
 import com.marcotancredo.minhasfinancas.model.entity.Usuario;
 import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
 import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
 import com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException;
+import com.marcotancredo.minhasfinancas.model.importacao.FormatoExtrato;
+import com.marcotancredo.minhasfinancas.model.importacao.ResultadoImportacao;
+import com.marcotancredo.minhasfinancas.model.service.ImportacaoService;
 import com.marcotancredo.minhasfinancas.model.service.LancamentoService;
 import com.marcotancredo.minhasfinancas.model.service.UsuarioService;
+import com.marcotancredo.minhasfinancas.model.service.VersaoDadosUsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.apache.catalina.connector.Response;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.BufferedWriter;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -23,8 +51,14 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class LancamentoResource {
 
+    private static final int LIMITE_PADRAO = 50;
+    private static final int LIMITE_MAXIMO = 500;
+
     private final LancamentoService service;
     private final UsuarioService usuarioService;
+    private final ImportacaoService importacaoService;
+    private final ObjectMapper objectMapper;
+    private final VersaoDadosUsuarioService versaoDadosUsuarioService;
 
     @PostMapping
     public ResponseEntity salvar(@RequestBody LancamentoDTO dto) {
@@ -37,37 +71,179 @@ public class LancamentoResource {
         }
     }
 
+    @PostMapping("/lote")
+    public ResponseEntity salvarEmLote(@RequestBody List<LancamentoDTO> dtos) {
+        try {
+            Map<Long, Usuario> usuarios = new HashMap<>();
+            List<Lancamento> entidades = dtos.stream().map(dto -> converter(dto, usuarios)).toList();
+            List<Lancamento> salvos = service.salvarEmLote(entidades);
+            return new ResponseEntity(salvos.stream().map(this::converter).toList(), HttpStatus.CREATED);
+        } catch (RegraNegocioException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    @PostMapping("/importar")
+    public ResponseEntity importar(@RequestParam("usuario") Long idUsuario,
+                                   @RequestParam("formato") String formato,
+                                   @RequestParam(value = "charset", defaultValue = "UTF-8") String charset,
+                                   HttpServletRequest request) throws IOException {
+        Optional<Usuario> usuario = usuarioService.obterPorId(idUsuario);
+
+        if (usuario.isEmpty()) {
+            return ResponseEntity.badRequest().body("Usuário não encontrado para o id informado.");
+        }
+
+        FormatoExtrato formatoExtrato;
+        Charset codificacao;
+        try {
+            formatoExtrato = FormatoExtrato.valueOf(formato.toUpperCase(Locale.ROOT));
+            codificacao = Charset.forName(charset);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Formato ou codificação do extrato inválidos, utilize csv ou ofx.");
+        }
+
+        BufferedReader conteudo = new BufferedReader(new InputStreamReader(request.getInputStream(), codificacao));
+        ResultadoImportacao resultado = importacaoService.importar(usuario.get(), formatoExtrato, conteudo);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @GetMapping("/importacoes")
+    public ResponseEntity importacoesEmAndamento(@RequestParam("usuario") Long idUsuario) {
+        return ResponseEntity.ok(importacaoService.obterEmAndamento(idUsuario));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity atualizar(@PathVariable Long id, @RequestBody LancamentoDTO dto) {
         return service.obterPorId(id).map(entity -> {
             try {
-                Lancamento lancamento = converter(dto);
+                Map<Long, Usuario> usuarios = new HashMap<>();
+                usuarios.put(entity.getUsuario().getId(), entity.getUsuario());
+                Lancamento lancamento = converter(dto, usuarios);
                 lancamento.setId(entity.getId());
+                if (lancamento.getVersao() == null) {
+                    lancamento.setVersao(entity.getVersao());
+                }
                 service.atualizar(lancamento);
                 return new ResponseEntity(lancamento, HttpStatus.OK);
             } catch (RegraNegocioException ex) {
                 return ResponseEntity.badRequest().body(ex.getMessage());
+            } catch (OptimisticLockingFailureException ex) {
+                return conflitoDeVersao();
             }
         }).orElseGet(() -> new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST));
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity atualizarParcialmente(@PathVariable Long id, @RequestBody LancamentoDTO dto) {
+        try {
+            Lancamento alteracoes = new Lancamento();
+            alteracoes.setDescricao(dto.getDescricao());
+            alteracoes.setMes(dto.getMes());
+            alteracoes.setAno(dto.getAno());
+            alteracoes.setValor(dto.getValor());
+            if (dto.getTipo() != null) {
+                alteracoes.setTipo(TipoLancamento.valueOf(dto.getTipo()));
+            }
+            if (dto.getStatus() != null) {
+                alteracoes.setStatus(StatusLancamento.valueOf(dto.getStatus()));
+            }
+
+            if (!service.atualizarParcialmente(id, dto.getVersao(), alteracoes)) {
+                return new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST);
+            }
+            return ResponseEntity.noContent().build();
+        } catch (RegraNegocioException | IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        } catch (OptimisticLockingFailureException ex) {
+            return conflitoDeVersao();
+        }
+    }
+
     @PutMapping("/{id}/atualiza-status")
     public ResponseEntity atualizarStatus(@PathVariable Long id, @RequestBody AtualizaStatusDTO dto) {
+        StatusLancamento novoStatus;
+        try {
+            novoStatus = dto.getStatus() == null ? null : StatusLancamento.valueOf(dto.getStatus());
+        } catch (IllegalArgumentException ex) {
+            novoStatus = null;
+        }
 
-        return service.obterPorId(id).map(entity -> {
-            StatusLancamento novoStatus = StatusLancamento.valueOf(dto.getStatus());
+        if (novoStatus == null) {
+            return ResponseEntity.badRequest().body("Não foi possível atualizar o status do lançamento, envio um satus válido");
+        }
 
-            if (novoStatus == null) {
-                return ResponseEntity.badRequest().body("Não foi possível atualizar o status do lançamento, envio um satus válido");
-            }
-            try {
-                entity.setStatus(novoStatus);
-                Lancamento lancamento = service.atualizar(entity);
-                return ResponseEntity.ok(lancamento);
-            } catch (RegraNegocioException ex) {
-                return ResponseEntity.badRequest().body(ex.getMessage());
+        try {
+            Lancamento alteracoes = new Lancamento();
+            alteracoes.setStatus(novoStatus);
+            if (!service.atualizarParcialmente(id, null, alteracoes)) {
+                return new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST);
             }
-        }).orElseGet(() -> new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST));
+            // os clientes leem o lançamento atualizado na resposta
+            return service.obterDTOPorId(id)
+                    .map(lancamento -> new ResponseEntity(lancamento, HttpStatus.OK))
+                    .orElseGet(() -> new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST));
+        } catch (OptimisticLockingFailureException ex) {
+            return conflitoDeVersao();
+        }
+    }
+
+    private static ResponseEntity conflitoDeVersao() {
+        return new ResponseEntity("O lançamento foi alterado por outra requisição, recarregue e tente novamente.",
+                HttpStatus.CONFLICT);
+    }
+
+    @PutMapping("/atualiza-status")
+    public ResponseEntity atualizarStatusEmLote(
+            @RequestParam("usuario") Long idUsuario,
+            @RequestParam(value = "ano", required = false) Integer ano,
+            @RequestParam(value = "mes", required = false) Integer mes,
+            @RequestParam(value = "tipo", required = false) String tipo,
+            @RequestParam(value = "ids", required = false) List<Long> ids,
+            @RequestBody AtualizaStatusDTO dto
+    ) {
+        if (dto.getStatus() == null) {
+            return ResponseEntity.badRequest().body("Não foi possível atualizar o status dos lançamentos, envie um status válido");
+        }
+
+        try {
+            Lancamento filtro = criarFiltro(idUsuario, ano, mes, tipo);
+            StatusLancamento novoStatus = StatusLancamento.valueOf(dto.getStatus());
+            int atualizados = service.atualizarStatusEmLote(filtro, ids, novoStatus);
+            return ResponseEntity.ok(new ResultadoLoteDTO(atualizados));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Não foi possível atualizar o status dos lançamentos, envie um tipo e um status válidos");
+        }
+    }
+
+    @DeleteMapping
+    public ResponseEntity deletarEmLote(
+            @RequestParam("usuario") Long idUsuario,
+            @RequestParam(value = "ano", required = false) Integer ano,
+            @RequestParam(value = "mes", required = false) Integer mes,
+            @RequestParam(value = "tipo", required = false) String tipo,
+            @RequestParam(value = "ids", required = false) List<Long> ids
+    ) {
+        try {
+            Lancamento filtro = criarFiltro(idUsuario, ano, mes, tipo);
+            int excluidos = service.deletarEmLote(filtro, ids);
+            return ResponseEntity.ok(new ResultadoLoteDTO(excluidos));
+        } catch (RegraNegocioException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Não foi possível excluir os lançamentos, envie um tipo válido");
+        }
+    }
+
+    private static Lancamento criarFiltro(Long idUsuario, Integer ano, Integer mes, String tipo) {
+        Lancamento filtro = new Lancamento();
+        filtro.setUsuario(Usuario.builder().id(idUsuario).build());
+        filtro.setAno(ano);
+        filtro.setMes(mes);
+        if (tipo != null) {
+            filtro.setTipo(TipoLancamento.valueOf(tipo));
+        }
+        return filtro;
     }
 
     @DeleteMapping("/{id}")
@@ -83,32 +259,160 @@ public class LancamentoResource {
             @RequestParam(value = "descricao", required = false) String descricao,
             @RequestParam(value = "mes", required = false) Integer mes,
             @RequestParam(value = "ano", required = false) Integer ano,
-            @RequestParam("usuario") Long idUsuario
+            @RequestParam("usuario") Long idUsuario,
+            @RequestParam(value = "limite", required = false) Integer limite,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            WebRequest request
     ) {
+        if (request.checkNotModified(versaoDadosUsuarioService.obterEtag(idUsuario,
+                NegociacaoRepresentacao.resolver(request)))) {
+            return null;
+        }
+
         Lancamento filtro = new Lancamento();
         filtro.setDescricao(descricao);
         filtro.setMes(mes);
         filtro.setAno(ano);
-        Optional<Usuario> usuario = usuarioService.obterPorId(idUsuario);
+        filtro.setUsuario(Usuario.builder().id(idUsuario).build());
 
-        if (usuario.isEmpty()) {
+        ResponseEntity resposta;
+        boolean vazia;
+        if (limite != null || cursor != null) {
+            resposta = buscarPagina(filtro, limite, cursor);
+            vazia = resposta.getBody() instanceof PaginaLancamentosDTO pagina && pagina.getLancamentos().isEmpty();
+        } else {
+            List<LancamentoDTO> lancamentos = service.listar(filtro);
+            resposta = ResponseEntity.ok(lancamentos);
+            vazia = lancamentos.isEmpty();
+        }
+
+        // a existência do usuário só precisa ser conferida quando a consulta não trouxe nada
+        if (vazia && usuarioService.obterPorId(idUsuario).isEmpty()) {
             return ResponseEntity.badRequest().body("Não foi possível realizar a consulta. Usuário não encontrado para o id informado.");
         }
+        return resposta;
+    }
+
+    private ResponseEntity buscarPagina(Lancamento filtro, Integer limite, String cursor) {
+        int tamanho = limite == null ? LIMITE_PADRAO : Math.min(Math.max(limite, 1), LIMITE_MAXIMO);
+
+        try {
+            Lancamento posicao = cursor == null ? null : decodificarCursor(cursor);
+            Slice<LancamentoDTO> pagina = service.buscarPagina(filtro, posicao, tamanho);
+
+            List<LancamentoDTO> lancamentos = pagina.getContent();
+            String proximo = pagina.hasNext() ? codificarCursor(pagina.getContent().get(pagina.getNumberOfElements() - 1)) : null;
+
+            return ResponseEntity.ok(PaginaLancamentosDTO.builder()
+                    .lancamentos(lancamentos)
+                    .proximo(proximo)
+                    .build());
+        } catch (RegraNegocioException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    @GetMapping("/busca")
+    public ResponseEntity buscarPorDescricao(
+            @RequestParam("usuario") Long idUsuario,
+            @RequestParam("termo") String termo,
+            @RequestParam(value = "limite", required = false) Integer limite
+    ) {
+        int tamanho = limite == null ? LIMITE_PADRAO : Math.min(Math.max(limite, 1), LIMITE_MAXIMO);
+        try {
+            return ResponseEntity.ok(service.buscarPorDescricao(idUsuario, termo, tamanho));
+        } catch (RegraNegocioException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    @GetMapping("/export")
+    public void exportar(@RequestParam("usuario") Long idUsuario,
+                         @RequestParam(value = "format", defaultValue = "ndjson") String formato,
+                         HttpServletResponse response) throws IOException {
+        if (!"ndjson".equalsIgnoreCase(formato) && !"csv".equalsIgnoreCase(formato)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Formato de exportação inválido, utilize ndjson ou csv.");
+            return;
+        }
+
+        // depois do primeiro byte gravado a resposta já foi confirmada com 200
+        if (usuarioService.obterPorId(idUsuario).isEmpty()) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Usuário não encontrado para o id informado.");
+            return;
+        }
+
+        boolean csv = "csv".equalsIgnoreCase(formato);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"lancamentos." + (csv ? "csv" : "ndjson") + "\"");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        if (csv) {
+            exportarCsv(idUsuario, writer);
+        } else {
+            exportarNdjson(idUsuario, writer);
+        }
+    }
+
+    private void exportarNdjson(Long idUsuario, Writer writer) throws IOException {
+        try (SequenceWriter sequencia = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer)) {
+            service.exportar(idUsuario, lancamento -> {
+                try {
+                    sequencia.write(converter(lancamento));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
 
-        filtro.setUsuario(usuario.get());
+    private void exportarCsv(Long idUsuario, Writer writer) throws IOException {
+        try (writer) {
+            writer.write("id,descricao,mes,ano,valor,tipo,status,data_cadastro\n");
+            service.exportar(idUsuario, lancamento -> {
+                try {
+                    writer.write(String.valueOf(lancamento.getId()));
+                    writer.write(',');
+                    writer.write(escaparCsv(lancamento.getDescricao()));
+                    writer.write(',');
+                    writer.write(String.valueOf(lancamento.getMes()));
+                    writer.write(',');
+                    writer.write(String.valueOf(lancamento.getAno()));
+                    writer.write(',');
+                    writer.write(lancamento.getValor() == null ? "" : lancamento.getValor().toPlainString());
+                    writer.write(',');
+                    writer.write(lancamento.getTipo() == null ? "" : lancamento.getTipo().name());
+                    writer.write(',');
+                    writer.write(lancamento.getStatus() == null ? "" : lancamento.getStatus().name());
+                    writer.write(',');
+                    writer.write(lancamento.getDataCadastro() == null ? "" : lancamento.getDataCadastro().toString());
+                    writer.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
 
-        List<Lancamento> lancamentos = service.buscar(filtro);
-        return ResponseEntity.ok(lancamentos);
+    private static String escaparCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
     }
 
     @GetMapping("{id}")
     public ResponseEntity obterLancamento(@PathVariable("id") Long id) {
-        return service.obterPorId(id)
-                .map(lancamento -> new ResponseEntity(converter(lancamento), HttpStatus.OK))
+        return service.obterDTOPorId(id)
+                .map(lancamento -> new ResponseEntity(lancamento, HttpStatus.OK))
                 .orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
     }
 
-    private LancamentoDTO converter(Lancamento lancamento) {
+    LancamentoDTO converter(Lancamento lancamento) {
         return LancamentoDTO.builder()
                 .id(lancamento.getId())
                 .descricao(lancamento.getDescricao())
@@ -118,19 +422,43 @@ public class LancamentoResource {
                 .tipo(lancamento.getTipo().name())
                 .status(lancamento.getStatus().name())
                 .usuario(lancamento.getUsuario().getId())
+                .versao(lancamento.getVersao())
                 .build();
     }
 
-    private Lancamento converter(LancamentoDTO dto) {
+    private static String codificarCursor(LancamentoDTO ultimo) {
+        String posicao = ultimo.getAno() + ":" + ultimo.getMes() + ":" + ultimo.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Lancamento decodificarCursor(String cursor) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            Lancamento posicao = new Lancamento();
+            posicao.setAno(Integer.valueOf(partes[0]));
+            posicao.setMes(Integer.valueOf(partes[1]));
+            posicao.setId(Long.valueOf(partes[2]));
+            return posicao;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            throw new RegraNegocioException("Cursor de paginação inválido.");
+        }
+    }
+
+    Lancamento converter(LancamentoDTO dto) {
+        return converter(dto, new HashMap<>());
+    }
+
+    private Lancamento converter(LancamentoDTO dto, Map<Long, Usuario> usuarios) {
         Lancamento lancamento = new Lancamento();
         lancamento.setId(dto.getId());
         lancamento.setDescricao(dto.getDescricao());
         lancamento.setAno(dto.getAno());
         lancamento.setMes(dto.getMes());
         lancamento.setValor(dto.getValor());
+        lancamento.setVersao(dto.getVersao());
 
-        Usuario usuario = usuarioService.obterPorId(dto.getUsuario())
-                .orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o id informado."));
+        Usuario usuario = usuarios.computeIfAbsent(dto.getUsuario(), id -> usuarioService.obterPorId(id)
+                .orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o id informado.")));
 
         lancamento.setUsuario(usuario);
         if (dto.getTipo() != null) {
@@ -0,0 +1,80 @@
+package com.marcotancredo.minhasfinancas.api.resource;
+
+import com.marcotancredo.minhasfinancas.api.dto.RecorrenciaDTO;
+import com.marcotancredo.minhasfinancas.model.entity.Recorrencia;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.enums.Periodicidade;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException;
+import com.marcotancredo.minhasfinancas.model.service.RecorrenciaService;
+import com.marcotancredo.minhasfinancas.model.service.UsuarioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Locale;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/recorrencias")
+@RequiredArgsConstructor
+public class RecorrenciaResource {
+
+    private final RecorrenciaService service;
+    private final UsuarioService usuarioService;
+
+    // cria a recorrência e já gera as ocorrências até o horizonte em uma única requisição
+    @PostMapping
+    public ResponseEntity salvar(@RequestBody RecorrenciaDTO dto) {
+        Optional<Usuario> usuario = dto.getUsuario() == null ? Optional.empty()
+                : usuarioService.obterPorId(dto.getUsuario());
+
+        if (usuario.isEmpty()) {
+            return ResponseEntity.badRequest().body("Usuário não encontrado para o id informado.");
+        }
+
+        try {
+            Recorrencia recorrencia = service.criar(converter(dto, usuario.get()));
+            return new ResponseEntity(converter(recorrencia), HttpStatus.CREATED);
+        } catch (RegraNegocioException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body("Tipo ou periodicidade inválidos.");
+        }
+    }
+
+    private static Recorrencia converter(RecorrenciaDTO dto, Usuario usuario) {
+        return Recorrencia.builder()
+                .usuario(usuario)
+                .descricao(dto.getDescricao())
+                .valor(dto.getValor())
+                .tipo(dto.getTipo() == null ? null : TipoLancamento.valueOf(dto.getTipo()))
+                .periodicidade(dto.getPeriodicidade() == null ? null
+                        : Periodicidade.valueOf(dto.getPeriodicidade().toUpperCase(Locale.ROOT)))
+                .mesInicio(dto.getMes())
+                .anoInicio(dto.getAno())
+                .quantidade(dto.getQuantidade())
+                .parcelado(dto.isParcelado())
+                .build();
+    }
+
+    private static RecorrenciaDTO converter(Recorrencia recorrencia) {
+        return RecorrenciaDTO.builder()
+                .id(recorrencia.getId())
+                .usuario(recorrencia.getUsuario().getId())
+                .descricao(recorrencia.getDescricao())
+                .valor(recorrencia.getValor())
+                .tipo(recorrencia.getTipo() == null ? null : recorrencia.getTipo().name())
+                .periodicidade(recorrencia.getPeriodicidade().name())
+                .mes(recorrencia.getMesInicio())
+                .ano(recorrencia.getAnoInicio())
+                .quantidade(recorrencia.getQuantidade())
+                .parcelado(recorrencia.isParcelado())
+                .parcelasGeradas(recorrencia.getParcelasGeradas())
+                .build();
+    }
+}
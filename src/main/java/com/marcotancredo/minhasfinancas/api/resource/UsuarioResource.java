@@ -1,19 +1,36 @@
 package com.marcotancredo.minhasfinancas.api.resource;
 
+import com.marcotancredo.minhasfinancas.api.NegociacaoRepresentacao;
+import com.marcotancredo.minhasfinancas.api.dto.ComparativoAnualDTO;
+import com.marcotancredo.minhasfinancas.api.dto.ComparativoMensalDTO;
+import com.marcotancredo.minhasfinancas.api.dto.ResumoAnualDTO;
+import com.marcotancredo.minhasfinancas.api.dto.ResumoMensalDTO;
 import com.marcotancredo.minhasfinancas.api.dto.TokenDTO;
 import com.marcotancredo.minhasfinancas.api.dto.UsuarioDTO;
+import com.marcotancredo.minhasfinancas.model.cubo.CuboLancamentos;
 import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
 import com.marcotancredo.minhasfinancas.model.exception.ErroAutenticacao;
 import com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException;
+import com.marcotancredo.minhasfinancas.model.exception.ServicoIndisponivelException;
+import com.marcotancredo.minhasfinancas.model.service.CuboLancamentosService;
 import com.marcotancredo.minhasfinancas.model.service.JwtService;
 import com.marcotancredo.minhasfinancas.model.service.LancamentoService;
 import com.marcotancredo.minhasfinancas.model.service.UsuarioService;
+import com.marcotancredo.minhasfinancas.model.service.VersaoDadosUsuarioService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -21,9 +38,13 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UsuarioResource {
 
+    private static final String SEGUNDOS_PARA_NOVA_TENTATIVA = "1";
+
     private final UsuarioService service;
     private final LancamentoService lancamentoService;
     private final JwtService jwtService;
+    private final VersaoDadosUsuarioService versaoDadosUsuarioService;
+    private final CuboLancamentosService cuboLancamentosService;
 
     @PostMapping
     public ResponseEntity<?> salvar(@RequestBody UsuarioDTO dto) {
@@ -34,6 +55,8 @@ public class UsuarioResource {
             return new ResponseEntity<>(usuarioSalvo, HttpStatus.CREATED);
         } catch (RegraNegocioException ex) {
             return ResponseEntity.badRequest().body(ex.getMessage());
+        } catch (ServicoIndisponivelException ex) {
+            return servicoIndisponivel(ex);
         }
     }
 
@@ -50,19 +73,157 @@ public class UsuarioResource {
             return ResponseEntity.ok(tokenDTO);
         } catch (ErroAutenticacao ex) {
             return ResponseEntity.badRequest().body(ex.getMessage());
+        } catch (ServicoIndisponivelException ex) {
+            return servicoIndisponivel(ex);
         }
     }
 
+    private static ResponseEntity<?> servicoIndisponivel(ServicoIndisponivelException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, SEGUNDOS_PARA_NOVA_TENTATIVA)
+                .body(ex.getMessage());
+    }
+
     @GetMapping("{id}/saldo")
-    public ResponseEntity<?> obterSaldo(@PathVariable("id") Long id) {
+    public ResponseEntity<?> obterSaldo(@PathVariable("id") Long id, WebRequest request) {
+        if (request.checkNotModified(versaoDadosUsuarioService.obterEtag(id,
+                NegociacaoRepresentacao.resolver(request)))) {
+            return null;
+        }
+
         Optional<Usuario> usuario = service.obterPorId(id);
 
         if (usuario.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
+        // o saldo vem de financas.saldo_usuario, atualizada na mesma transação de cada escrita
         BigDecimal saldo = lancamentoService.obterSaldoPorUsuarioEStatus(id);
         return ResponseEntity.ok(saldo);
     }
 
+    @GetMapping("{id}/resumo")
+    public ResponseEntity<?> obterResumo(@PathVariable("id") Long id, @RequestParam("ano") Integer ano,
+                                         WebRequest request) {
+        if (request.checkNotModified(versaoDadosUsuarioService.obterEtag(id,
+                NegociacaoRepresentacao.resolver(request)))) {
+            return null;
+        }
+
+        Optional<Usuario> usuario = service.obterPorId(id);
+
+        if (usuario.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        return ResponseEntity.ok(converter(ano, cuboLancamentosService.obterCubo(id)));
+    }
+
+    @GetMapping("{id}/comparativo")
+    public ResponseEntity<?> obterComparativo(@PathVariable("id") Long id, @RequestParam("ano") Integer ano,
+                                              WebRequest request) {
+        if (request.checkNotModified(versaoDadosUsuarioService.obterEtag(id,
+                NegociacaoRepresentacao.resolver(request)))) {
+            return null;
+        }
+
+        Optional<Usuario> usuario = service.obterPorId(id);
+
+        if (usuario.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        CuboLancamentos cubo = cuboLancamentosService.obterCubo(id);
+        List<ComparativoMensalDTO> meses = new ArrayList<>(12);
+        long receitasAno = 0;
+        long despesasAno = 0;
+        long receitasAnoAnterior = 0;
+        long despesasAnoAnterior = 0;
+        for (int mes = 1; mes <= 12; mes++) {
+            long receitas = somarNaoCancelados(cubo, ano, mes, TipoLancamento.RECEITA);
+            long despesas = somarNaoCancelados(cubo, ano, mes, TipoLancamento.DESPESA);
+            long receitasAnterior = somarNaoCancelados(cubo, ano - 1, mes, TipoLancamento.RECEITA);
+            long despesasAnterior = somarNaoCancelados(cubo, ano - 1, mes, TipoLancamento.DESPESA);
+
+            meses.add(ComparativoMensalDTO.builder()
+                    .mes(mes)
+                    .receitas(reais(receitas))
+                    .receitasAnoAnterior(reais(receitasAnterior))
+                    .despesas(reais(despesas))
+                    .despesasAnoAnterior(reais(despesasAnterior))
+                    .saldo(reais(receitas - despesas))
+                    .saldoAnoAnterior(reais(receitasAnterior - despesasAnterior))
+                    .build());
+
+            receitasAno += receitas;
+            despesasAno += despesas;
+            receitasAnoAnterior += receitasAnterior;
+            despesasAnoAnterior += despesasAnterior;
+        }
+
+        return ResponseEntity.ok(ComparativoAnualDTO.builder()
+                .ano(ano)
+                .anoAnterior(ano - 1)
+                .receitas(reais(receitasAno))
+                .receitasAnoAnterior(reais(receitasAnoAnterior))
+                .despesas(reais(despesasAno))
+                .despesasAnoAnterior(reais(despesasAnoAnterior))
+                .saldo(reais(receitasAno - despesasAno))
+                .saldoAnoAnterior(reais(receitasAnoAnterior - despesasAnoAnterior))
+                .meses(meses)
+                .build());
+    }
+
+    private ResumoAnualDTO converter(Integer ano, CuboLancamentos cubo) {
+        List<ResumoMensalDTO> resumoMeses = new ArrayList<>(12);
+        long receitasAno = 0;
+        long despesasAno = 0;
+        for (int mes = 1; mes <= 12; mes++) {
+            long totalReceitas = somarNaoCancelados(cubo, ano, mes, TipoLancamento.RECEITA);
+            long totalDespesas = somarNaoCancelados(cubo, ano, mes, TipoLancamento.DESPESA);
+
+            resumoMeses.add(ResumoMensalDTO.builder()
+                    .mes(mes)
+                    .receitas(reais(totalReceitas))
+                    .despesas(reais(totalDespesas))
+                    .saldo(reais(totalReceitas - totalDespesas))
+                    .receitasPorStatus(porStatus(cubo, ano, mes, TipoLancamento.RECEITA))
+                    .despesasPorStatus(porStatus(cubo, ano, mes, TipoLancamento.DESPESA))
+                    .build());
+
+            receitasAno += totalReceitas;
+            despesasAno += totalDespesas;
+        }
+
+        return ResumoAnualDTO.builder()
+                .ano(ano)
+                .receitas(reais(receitasAno))
+                .despesas(reais(despesasAno))
+                .saldo(reais(receitasAno - despesasAno))
+                .meses(resumoMeses)
+                .build();
+    }
+
+    private static long somarNaoCancelados(CuboLancamentos cubo, int ano, int mes, TipoLancamento tipo) {
+        long soma = 0;
+        for (StatusLancamento status : StatusLancamento.values()) {
+            if (status != StatusLancamento.CANCELADO) {
+                soma += cubo.total(ano, mes, tipo, status);
+            }
+        }
+        return soma;
+    }
+
+    private static Map<String, BigDecimal> porStatus(CuboLancamentos cubo, int ano, int mes, TipoLancamento tipo) {
+        Map<String, BigDecimal> resultado = new LinkedHashMap<>();
+        for (StatusLancamento status : StatusLancamento.values()) {
+            resultado.put(status.name(), reais(cubo.total(ano, mes, tipo, status)));
+        }
+        return resultado;
+    }
+
+    private static BigDecimal reais(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
 }
@@ -0,0 +1,42 @@
+package com.marcotancredo.minhasfinancas.config;
+
+import com.marcotancredo.minhasfinancas.model.service.ArquivamentoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Move os lançamentos dos anos fechados para financas.lancamento_arquivo, um lote por transação,
+ * acumulando os totais em financas.resumo_arquivado.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "minhasfinancas.arquivamento.ativo", havingValue = "true")
+public class ArquivamentoAgendado {
+
+    private final ArquivamentoService arquivamentoService;
+
+    public ArquivamentoAgendado(ArquivamentoService arquivamentoService) {
+        this.arquivamentoService = arquivamentoService;
+    }
+
+    @Scheduled(cron = "${minhasfinancas.arquivamento.cron:0 30 3 * * *}")
+    public void arquivar() {
+        int anoCorte = arquivamentoService.obterAnoCorte();
+        log.info("Arquivando os lançamentos anteriores a {}", anoCorte);
+
+        long total = 0;
+        for (Long idUsuario : arquivamentoService.listarUsuariosParaArquivar(anoCorte)) {
+            int arquivados;
+            do {
+                arquivados = arquivamentoService.arquivarLote(idUsuario, anoCorte);
+                total += arquivados;
+            } while (arquivados > 0);
+        }
+
+        log.info("{} lançamentos arquivados", total);
+    }
+}
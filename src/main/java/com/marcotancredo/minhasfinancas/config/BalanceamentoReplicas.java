@@ -0,0 +1,7 @@
+package com.marcotancredo.minhasfinancas.config;
+
+public enum BalanceamentoReplicas {
+
+    ROUND_ROBIN,
+    MENOS_CONEXOES
+}
@@ -0,0 +1,65 @@
+package com.marcotancredo.minhasfinancas.config;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// contagens abertas na thread atual; podem ser aninhadas (um teste em volta do filtro da requisição, por exemplo)
+// e cada comando é somado em todas elas
+public final class ContadorSql {
+
+    private static final ThreadLocal<Deque<ContagemSql>> CONTAGENS = new ThreadLocal<>();
+
+    private ContadorSql() {
+    }
+
+    public static ContagemSql iniciar() {
+        Deque<ContagemSql> contagens = CONTAGENS.get();
+        if (contagens == null) {
+            contagens = new ArrayDeque<>();
+            CONTAGENS.set(contagens);
+        }
+        ContagemSql contagem = new ContagemSql();
+        contagens.push(contagem);
+        return contagem;
+    }
+
+    public static void encerrar(ContagemSql contagem) {
+        Deque<ContagemSql> contagens = CONTAGENS.get();
+        if (contagens == null) {
+            return;
+        }
+        contagens.remove(contagem);
+        if (contagens.isEmpty()) {
+            CONTAGENS.remove();
+        }
+    }
+
+    public static ContagemSql medir(Execucao execucao) throws Exception {
+        ContagemSql contagem = iniciar();
+        try {
+            execucao.executar();
+        } finally {
+            encerrar(contagem);
+        }
+        return contagem;
+    }
+
+    static void registrarComando(String sql) {
+        Deque<ContagemSql> contagens = CONTAGENS.get();
+        if (contagens != null) {
+            contagens.forEach(contagem -> contagem.registrarComando(sql));
+        }
+    }
+
+    static void registrarLinha() {
+        Deque<ContagemSql> contagens = CONTAGENS.get();
+        if (contagens != null) {
+            contagens.forEach(ContagemSql::registrarLinha);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Execucao {
+        void executar() throws Exception;
+    }
+}
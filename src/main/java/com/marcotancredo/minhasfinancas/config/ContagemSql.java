@@ -0,0 +1,43 @@
+package com.marcotancredo.minhasfinancas.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ContagemSql {
+
+    private static final int MAXIMO_COMANDOS_GUARDADOS = 50;
+
+    private int comandos;
+    private long linhas;
+    private final List<String> sqls = new ArrayList<>();
+
+    void registrarComando(String sql) {
+        comandos++;
+        if (sqls.size() < MAXIMO_COMANDOS_GUARDADOS) {
+            sqls.add(sql);
+        }
+    }
+
+    void registrarLinha() {
+        linhas++;
+    }
+
+    public int getComandos() {
+        return comandos;
+    }
+
+    public long getLinhas() {
+        return linhas;
+    }
+
+    // apenas os primeiros comandos executados, para diagnóstico
+    public List<String> getSqls() {
+        return Collections.unmodifiableList(sqls);
+    }
+
+    @Override
+    public String toString() {
+        return comandos + " comando(s), " + linhas + " linha(s) lida(s): " + sqls;
+    }
+}
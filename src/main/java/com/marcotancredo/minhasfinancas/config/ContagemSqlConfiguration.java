@@ -0,0 +1,49 @@
+package com.marcotancredo.minhasfinancas.config;
+
+import com.marcotancredo.minhasfinancas.api.OrcamentoSqlFilter;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "minhasfinancas.sql.contagem", havingValue = "true", matchIfMissing = true)
+public class ContagemSqlConfiguration {
+
+    @Bean
+    public static BeanPostProcessor contagemSqlDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    ContagemSqlListener listener = new ContagemSqlListener();
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener)
+                            .methodListener(listener)
+                            .proxyResultSet()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    // antes do filtro do Spring Security, para contar também as consultas feitas na autenticação
+    @Bean
+    public FilterRegistrationBean<OrcamentoSqlFilter> orcamentoSqlFilter(
+            @Value("${minhasfinancas.sql.orcamento.comandos:10}") int maximoComandos,
+            @Value("${minhasfinancas.sql.orcamento.linhas:5000}") long maximoLinhas) {
+        FilterRegistrationBean<OrcamentoSqlFilter> registro =
+                new FilterRegistrationBean<>(new OrcamentoSqlFilter(maximoComandos, maximoLinhas));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
@@ -0,0 +1,36 @@
+package com.marcotancredo.minhasfinancas.config;
+
+import com.marcotancredo.minhasfinancas.model.service.CuboLancamentosService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Confere os cubos de lançamentos em memória com os totais do banco, descartando os que divergirem.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "minhasfinancas.cubo.verificacao.ativo", havingValue = "true")
+public class CuboVerificacaoAgendada {
+
+    private final CuboLancamentosService cuboLancamentosService;
+
+    public CuboVerificacaoAgendada(CuboLancamentosService cuboLancamentosService) {
+        this.cuboLancamentosService = cuboLancamentosService;
+    }
+
+    @Scheduled(cron = "${minhasfinancas.cubo.verificacao.cron:0 0 5 * * *}")
+    public void verificar() {
+        int divergentes = 0;
+        for (Long idUsuario : cuboLancamentosService.listarUsuariosEmCache()) {
+            if (!cuboLancamentosService.verificarConsistencia(idUsuario)) {
+                divergentes++;
+            }
+        }
+
+        log.info("Verificação dos cubos de lançamentos concluída, {} divergentes", divergentes);
+    }
+}
@@ -0,0 +1,136 @@
+package com.marcotancredo.minhasfinancas.config;
+
+import com.marcotancredo.minhasfinancas.model.exception.ServicoIndisponivelException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executa o hash e a verificação de senhas em um pool próprio, de tamanho fixo e fila limitada,
+ * para que rajadas de login não ocupem as threads que atendem as demais requisições.
+ * A requisição é recusada já na chegada quando a espera prevista na fila passa do limite, e uma
+ * operação que ficou na fila além do limite é descartada sem calcular o hash.
+ */
+public class PasswordEncoderLimitado implements PasswordEncoder, DisposableBean {
+
+    private static final String MENSAGEM_SOBRECARGA = "Serviço de autenticação sobrecarregado, tente novamente em instantes.";
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long tempoMaximoEsperaNanos;
+    // média móvel da duração de um hash, usada para prever a espera de quem chega
+    private final AtomicLong duracaoMediaNanos = new AtomicLong();
+    private final Timer latencia;
+    private final Counter rejeicoes;
+
+    public PasswordEncoderLimitado(PasswordEncoder encoder, int threads, int capacidadeFila,
+                                   long tempoMaximoEsperaMillis, MeterRegistry meterRegistry) {
+        this.encoder = encoder;
+        this.threads = threads;
+        this.tempoMaximoEsperaNanos = TimeUnit.MILLISECONDS.toNanos(tempoMaximoEsperaMillis);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila), new CustomizableThreadFactory("senha-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "senha");
+        this.latencia = Timer.builder("minhasfinancas.senha.latencia")
+                .description("Tempo de espera na fila somado ao tempo de hash ou verificação da senha")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejeicoes = Counter.builder("minhasfinancas.senha.rejeicoes")
+                .description("Operações de senha recusadas por fila cheia ou espera acima do limite")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> encoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    public int tamanhoFila() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        long inicio = System.nanoTime();
+        if (esperaPrevistaNanos() > tempoMaximoEsperaNanos) {
+            rejeicoes.increment();
+            throw new ServicoIndisponivelException(MENSAGEM_SOBRECARGA);
+        }
+
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(() -> executarNoPool(tarefa, inicio));
+        } catch (RejectedExecutionException ex) {
+            rejeicoes.increment();
+            throw new ServicoIndisponivelException(MENSAGEM_SOBRECARGA);
+        }
+
+        // sem timeout: a espera na fila é limitada pelo descarte em executarNoPool e o hash já iniciado
+        // não seria interrompido por um cancelamento
+        try {
+            return futuro.get();
+        } catch (InterruptedException ex) {
+            futuro.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new ServicoIndisponivelException(MENSAGEM_SOBRECARGA);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            latencia.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> T executarNoPool(Callable<T> tarefa, long chegada) throws Exception {
+        long inicio = System.nanoTime();
+        if (inicio - chegada > tempoMaximoEsperaNanos) {
+            rejeicoes.increment();
+            throw new ServicoIndisponivelException(MENSAGEM_SOBRECARGA);
+        }
+
+        try {
+            return tarefa.call();
+        } finally {
+            long duracao = System.nanoTime() - inicio;
+            duracaoMediaNanos.updateAndGet(media -> media == 0 ? duracao : media + (duracao - media) / 8);
+        }
+    }
+
+    // operações à frente (na fila e em execução) divididas pelas threads, vezes a duração média
+    private long esperaPrevistaNanos() {
+        long aFrente = executor.getQueue().size() + executor.getActiveCount();
+        return aFrente / threads * duracaoMediaNanos.get();
+    }
+}
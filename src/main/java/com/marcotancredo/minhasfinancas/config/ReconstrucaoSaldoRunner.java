@@ -0,0 +1,31 @@
+package com.marcotancredo.minhasfinancas.config;
+
+import com.marcotancredo.minhasfinancas.model.service.SaldoUsuarioService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recalcula a tabela de saldos a partir dos lançamentos quando a aplicação é iniciada com
+ * {@code --minhasfinancas.saldo.reconstruir=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "minhasfinancas.saldo.reconstruir", havingValue = "true")
+public class ReconstrucaoSaldoRunner implements ApplicationRunner {
+
+    private final SaldoUsuarioService saldoUsuarioService;
+
+    public ReconstrucaoSaldoRunner(SaldoUsuarioService saldoUsuarioService) {
+        this.saldoUsuarioService = saldoUsuarioService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Reconstruindo a tabela de saldos dos usuários");
+        saldoUsuarioService.reconstruir();
+        log.info("Tabela de saldos reconstruída");
+    }
+}
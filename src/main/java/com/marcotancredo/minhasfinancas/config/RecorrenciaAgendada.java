@@ -0,0 +1,35 @@
+package com.marcotancredo.minhasfinancas.config;
+
+import com.marcotancredo.minhasfinancas.model.service.RecorrenciaService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Estende o horizonte das recorrências sem fim (ou ainda não concluídas), gerando as ocorrências
+ * que passaram a caber nele, uma recorrência por transação.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "minhasfinancas.recorrencia.ativo", havingValue = "true")
+public class RecorrenciaAgendada {
+
+    private final RecorrenciaService recorrenciaService;
+
+    public RecorrenciaAgendada(RecorrenciaService recorrenciaService) {
+        this.recorrenciaService = recorrenciaService;
+    }
+
+    @Scheduled(cron = "${minhasfinancas.recorrencia.cron:0 0 4 * * *}")
+    public void estender() {
+        long total = 0;
+        for (Long idRecorrencia : recorrenciaService.listarParaEstender()) {
+            total += recorrenciaService.gerar(idRecorrencia);
+        }
+
+        log.info("{} lançamentos gerados pelas recorrências", total);
+    }
+}
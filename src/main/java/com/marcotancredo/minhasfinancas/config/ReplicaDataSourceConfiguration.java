@@ -0,0 +1,71 @@
+package com.marcotancredo.minhasfinancas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "minhasfinancas.replicas.ativo", havingValue = "true")
+public class ReplicaDataSourceConfiguration implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 @Value("${minhasfinancas.replicas.urls}") List<String> urls,
+                                 @Value("${minhasfinancas.replicas.usuario:${spring.datasource.username:}}") String usuario,
+                                 @Value("${minhasfinancas.replicas.senha:${spring.datasource.password:}}") String senha,
+                                 @Value("${minhasfinancas.replicas.balanceamento:ROUND_ROBIN}") BalanceamentoReplicas balanceamento,
+                                 @Value("${minhasfinancas.replicas.janela-leitura-propria-ms:5000}") long janelaLeituraPropria) {
+        HikariDataSource primario = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primario.setPoolName("primario");
+        pools.add(primario);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(usuario)
+                    .password(senha)
+                    .build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+            pools.add(replica);
+        }
+
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primario, replicas, balanceamento,
+                Duration.ofMillis(janelaLeituraPropria));
+        roteamento.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+
+    // com o open-in-view a sessão do Hibernate seguraria a mesma conexão por toda a requisição,
+    // e a escolha entre primário e réplica passaria a valer para todas as transações dela
+    @Bean
+    public HibernatePropertiesCustomizer liberarConexaoAoFimDaTransacao() {
+        return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
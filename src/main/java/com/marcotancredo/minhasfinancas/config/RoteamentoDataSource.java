@@ -0,0 +1,113 @@
+package com.marcotancredo.minhasfinancas.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envia as transações somente leitura para uma das réplicas e todo o resto para o primário. Precisa ficar atrás
+ * de um LazyConnectionDataSourceProxy, para que a conexão só seja escolhida depois que a transação marcou se é
+ * somente leitura.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARIO = "primario";
+
+    private final List<HikariDataSource> replicas;
+    private final BalanceamentoReplicas balanceamento;
+    private final Cache<String, Boolean> escritasRecentes;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public RoteamentoDataSource(DataSource primario, List<HikariDataSource> replicas,
+                                BalanceamentoReplicas balanceamento, Duration janelaLeituraPropria) {
+        this.replicas = List.copyOf(replicas);
+        this.balanceamento = balanceamento;
+        // usuários que escreveram há pouco leem do primário, para não verem uma réplica ainda atrasada
+        this.escritasRecentes = Caffeine.newBuilder()
+                .expireAfterWrite(janelaLeituraPropria)
+                .maximumSize(100_000)
+                .build();
+
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIO, primario);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            destinos.put(i, this.replicas.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String usuario = usuarioAutenticado();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (usuario != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                registrarEscrita(usuario);
+            }
+            return PRIMARIO;
+        }
+
+        if (replicas.isEmpty() || (usuario != null && escritasRecentes.getIfPresent(usuario) != null)) {
+            return PRIMARIO;
+        }
+        return escolherReplica();
+    }
+
+    private void registrarEscrita(String usuario) {
+        escritasRecentes.put(usuario, Boolean.TRUE);
+        // a janela volta a contar no fim da transação, para cobrir transações longas
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    escritasRecentes.put(usuario, Boolean.TRUE);
+                }
+            });
+        }
+    }
+
+    private int escolherReplica() {
+        int inicio = Math.floorMod(proxima.getAndIncrement(), replicas.size());
+        if (balanceamento == BalanceamentoReplicas.ROUND_ROBIN) {
+            return inicio;
+        }
+
+        // o ponto de partida rotativo desempata entre réplicas com o mesmo número de conexões ativas
+        int escolhida = inicio;
+        int menosConexoes = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            int indice = (inicio + i) % replicas.size();
+            HikariPoolMXBean pool = replicas.get(indice).getHikariPoolMXBean();
+            int ativas = pool == null ? 0 : pool.getActiveConnections();
+            if (ativas < menosConexoes) {
+                menosConexoes = ativas;
+                escolhida = indice;
+            }
+        }
+        return escolhida;
+    }
+
+    private static String usuarioAutenticado() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao == null || autenticacao instanceof AnonymousAuthenticationToken
+                || !autenticacao.isAuthenticated()) {
+            return null;
+        }
+        return autenticacao.getName();
+    }
+}
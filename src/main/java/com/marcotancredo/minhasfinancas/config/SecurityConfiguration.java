@@ -3,6 +3,8 @@ package com.marcotancredo.minhasfinancas.config;
 import com.marcotancredo.minhasfinancas.api.JwtTokenFilter;
 import com.marcotancredo.minhasfinancas.model.service.JwtService;
 import com.marcotancredo.minhasfinancas.model.service.impl.SecurityUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
@@ -32,21 +34,32 @@ public class SecurityConfiguration {
 
     private final SecurityUserDetailsService userDetailsService;
     private final JwtService jwtService;
+    private final boolean consultarUsuario;
+    private final MeterRegistry meterRegistry;
 
     public SecurityConfiguration(SecurityUserDetailsService userDetailsService,
-                                 JwtService jwtService) {
+                                 JwtService jwtService,
+                                 @Value("${jwt.consultar-usuario:false}") boolean consultarUsuario,
+                                 MeterRegistry meterRegistry) {
         this.userDetailsService = userDetailsService;
         this.jwtService = jwtService;
+        this.consultarUsuario = consultarUsuario;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
     public JwtTokenFilter jwtTokenFilter() {
-        return new JwtTokenFilter(jwtService, userDetailsService);
+        return new JwtTokenFilter(jwtService, userDetailsService, consultarUsuario, meterRegistry);
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${minhasfinancas.senha.threads:0}") int threads,
+                                           @Value("${minhasfinancas.senha.capacidade-fila:64}") int capacidadeFila,
+                                           @Value("${minhasfinancas.senha.tempo-maximo-espera-ms:1000}") long tempoMaximoEspera) {
+        int tamanhoPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new PasswordEncoderLimitado(new BCryptPasswordEncoder(), tamanhoPool, capacidadeFila,
+                tempoMaximoEspera, meterRegistry);
     }
 
     @Bean
@@ -83,7 +96,7 @@ public class SecurityConfiguration {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowCredentials(true);
         config.addAllowedOriginPattern("*"); // Customize as necessary
-        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
         source.registerCorsConfiguration("/**", config);
         return new CorsFilter(source);
@@ -91,16 +104,20 @@ public class SecurityConfiguration {
 
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception {
         AuthenticationManagerBuilder auth = http.getSharedObject(AuthenticationManagerBuilder.class);
         auth.userDetailsService(userDetailsService)
-                .passwordEncoder(passwordEncoder());
+                .passwordEncoder(passwordEncoder);
 
         http.csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(sessionConfigurer -> sessionConfigurer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authz -> authz
                         .requestMatchers(HttpMethod.POST, "/api/usuarios/autenticar").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/usuarios").permitAll()
+                        // o health fica aberto; as métricas só para quem tem o papel de monitoramento,
+                        // já que qualquer um pode criar uma conta
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole(SecurityUserDetailsService.PAPEL_MONITORAMENTO)
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtTokenFilter(), UsernamePasswordAuthenticationFilter.class)
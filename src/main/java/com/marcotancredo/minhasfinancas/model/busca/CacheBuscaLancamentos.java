@@ -0,0 +1,58 @@
+package com.marcotancredo.minhasfinancas.model.busca;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO;
+import com.marcotancredo.minhasfinancas.model.service.VersaoDadosUsuarioService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Resultados da listagem de lançamentos por usuário e filtro. A versão dos dados do usuário faz parte da chave:
+ * qualquer escrita confirmada muda a versão, e as entradas antigas deixam de ser encontradas até serem removidas
+ * pela política de despejo.
+ */
+@Component
+public class CacheBuscaLancamentos {
+
+    private final VersaoDadosUsuarioService versaoDadosUsuarioService;
+    private final Cache<Chave, List<LancamentoDTO>> resultados;
+
+    public CacheBuscaLancamentos(VersaoDadosUsuarioService versaoDadosUsuarioService, MeterRegistry meterRegistry,
+                                 @Value("${minhasfinancas.cache-busca.linhas-maximas:100000}") long linhasMaximas,
+                                 @Value("${minhasfinancas.cache-busca.expiracao-minutos:10}") long expiracaoMinutos) {
+        this.versaoDadosUsuarioService = versaoDadosUsuarioService;
+        // peso pelo número de linhas: uma listagem de um ano inteiro não vale o mesmo que uma de um mês
+        this.resultados = Caffeine.newBuilder()
+                .maximumWeight(linhasMaximas)
+                .<Chave, List<LancamentoDTO>>weigher((chave, lancamentos) -> Math.max(lancamentos.size(), 1))
+                .expireAfterAccess(Duration.ofMinutes(expiracaoMinutos))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, resultados, "lancamentos.busca");
+        Gauge.builder("minhasfinancas.cache.busca.linhas", resultados,
+                        cache -> cache.policy().eviction().map(despejo -> despejo.weightedSize().orElse(0)).orElse(0L))
+                .description("Lançamentos mantidos no cache de listagens")
+                .register(meterRegistry);
+    }
+
+    public List<LancamentoDTO> obter(Long idUsuario, Integer ano, Integer mes, String descricao,
+                                     Supplier<List<LancamentoDTO>> consulta) {
+        // a versão é lida antes da consulta: uma escrita confirmada no meio dela deixa a entrada numa versão
+        // que ninguém mais vai procurar
+        Chave chave = new Chave(idUsuario, versaoDadosUsuarioService.obterVersao(idUsuario), ano, mes, descricao);
+        return resultados.get(chave, ignorada -> Collections.unmodifiableList(consulta.get()));
+    }
+
+    private record Chave(Long idUsuario, long versao, Integer ano, Integer mes, String descricao) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.marcotancredo.minhasfinancas.model.busca;
+
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class IndiceTrigrama {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean ativo;
+
+    public IndiceTrigrama(DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        String produto = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.ativo = DatabaseDriver.fromProductName(produto) == DatabaseDriver.H2;
+    }
+
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    public void indexar(Long idLancamento, Long idUsuario, String descricao) {
+        if (!ativo) {
+            return;
+        }
+        remover(idLancamento);
+
+        List<Object[]> linhas = new ArrayList<>();
+        for (String trigrama : Trigramas.extrair(descricao)) {
+            linhas.add(new Object[]{idUsuario, trigrama, idLancamento});
+        }
+        if (!linhas.isEmpty()) {
+            jdbc().batchUpdate("insert into financas.lancamento_trigrama (id_usuario, trigrama, id_lancamento) " +
+                    "values (?, ?, ?)", linhas);
+        }
+    }
+
+    public void remover(Long idLancamento) {
+        if (!ativo) {
+            return;
+        }
+        jdbc().update("delete from financas.lancamento_trigrama where id_lancamento = ?", idLancamento);
+    }
+
+    public void removerOrfaos(Long idUsuario) {
+        if (!ativo) {
+            return;
+        }
+        jdbc().update("delete from financas.lancamento_trigrama t where t.id_usuario = ? " +
+                "and not exists (select 1 from financas.lancamento l where l.id = t.id_lancamento) " +
+                "and not exists (select 1 from financas.lancamento_arquivo a where a.id = t.id_lancamento)", idUsuario);
+    }
+
+    public List<Long> buscarCandidatos(Long idUsuario, Set<String> trigramas) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("idUsuario", idUsuario)
+                .addValue("trigramas", trigramas)
+                .addValue("quantidade", trigramas.size());
+        return jdbcTemplate.queryForList("select t.id_lancamento from financas.lancamento_trigrama t " +
+                "where t.id_usuario = :idUsuario and t.trigrama in (:trigramas) " +
+                "group by t.id_lancamento having count(*) = :quantidade", parametros, Long.class);
+    }
+
+    private JdbcTemplate jdbc() {
+        return jdbcTemplate.getJdbcTemplate();
+    }
+}
@@ -0,0 +1,30 @@
+package com.marcotancredo.minhasfinancas.model.busca;
+
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+public class IndiceTrigramaListener {
+
+    private final ObjectProvider<IndiceTrigrama> indice;
+
+    public IndiceTrigramaListener(ObjectProvider<IndiceTrigrama> indice) {
+        this.indice = indice;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void indexar(Lancamento lancamento) {
+        IndiceTrigrama indiceTrigrama = indice.getIfAvailable();
+        if (indiceTrigrama != null && lancamento.getUsuario() != null) {
+            indiceTrigrama.indexar(lancamento.getId(), lancamento.getUsuario().getId(), lancamento.getDescricao());
+        }
+    }
+
+    @PostRemove
+    public void remover(Lancamento lancamento) {
+        indice.ifAvailable(indiceTrigrama -> indiceTrigrama.remover(lancamento.getId()));
+    }
+}
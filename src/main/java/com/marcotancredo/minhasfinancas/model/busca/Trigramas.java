@@ -0,0 +1,32 @@
+package com.marcotancredo.minhasfinancas.model.busca;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+public final class Trigramas {
+
+    private Trigramas() {
+    }
+
+    public static String normalizar(String texto) {
+        return texto == null ? "" : texto.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static Set<String> extrair(String texto) {
+        String normalizado = normalizar(texto);
+        Set<String> trigramas = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= normalizado.length(); i++) {
+            trigramas.add(normalizado.substring(i, i + 3));
+        }
+        return trigramas;
+    }
+
+    public static double similaridade(Set<String> termo, Set<String> descricao) {
+        if (termo.isEmpty() || descricao.isEmpty()) {
+            return 0;
+        }
+        long comuns = termo.stream().filter(descricao::contains).count();
+        return (double) comuns / (termo.size() + descricao.size() - comuns);
+    }
+}
@@ -0,0 +1,80 @@
+package com.marcotancredo.minhasfinancas.model.cubo;
+
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Totais de um usuário por ano, mês, tipo e status, em centavos, num único array primitivo.
+ * As leituras não alocam; as atualizações chegam depois do commit e usam operações atômicas por célula.
+ */
+public class CuboLancamentos {
+
+    private static final int TIPOS = TipoLancamento.values().length;
+    private static final int STATUS = StatusLancamento.values().length;
+    private static final int CELULAS_POR_ANO = 12 * TIPOS * STATUS;
+
+    private final int anoInicial;
+    private final int anos;
+    private final AtomicLongArray centavos;
+
+    public CuboLancamentos(int anoInicial, int anoFinal) {
+        this.anoInicial = anoInicial;
+        this.anos = anoFinal - anoInicial + 1;
+        this.centavos = new AtomicLongArray(anos * CELULAS_POR_ANO);
+    }
+
+    public int getAnoInicial() {
+        return anoInicial;
+    }
+
+    public int getAnoFinal() {
+        return anoInicial + anos - 1;
+    }
+
+    public boolean contem(int ano) {
+        return ano >= anoInicial && ano < anoInicial + anos;
+    }
+
+    // quantidade de células, usada como peso no cache
+    public int getTamanho() {
+        return centavos.length();
+    }
+
+    public long total(int ano, int mes, TipoLancamento tipo, StatusLancamento status) {
+        return contem(ano) ? centavos.get(indice(ano, mes, tipo, status)) : 0;
+    }
+
+    // mesma regra de financas.saldo_usuario: receitas menos despesas efetivadas, de todos os anos
+    public long saldoEfetivado() {
+        int receita = TipoLancamento.RECEITA.ordinal() * STATUS + StatusLancamento.EFETIVADO.ordinal();
+        int despesa = TipoLancamento.DESPESA.ordinal() * STATUS + StatusLancamento.EFETIVADO.ordinal();
+        long saldo = 0;
+        for (int inicioMes = 0; inicioMes < centavos.length(); inicioMes += TIPOS * STATUS) {
+            saldo += centavos.get(inicioMes + receita) - centavos.get(inicioMes + despesa);
+        }
+        return saldo;
+    }
+
+    public void somar(int ano, int mes, TipoLancamento tipo, StatusLancamento status, long valor) {
+        centavos.addAndGet(indice(ano, mes, tipo, status), valor);
+    }
+
+    public boolean igual(CuboLancamentos outro) {
+        if (outro.anoInicial != anoInicial || outro.anos != anos) {
+            return false;
+        }
+        for (int i = 0; i < centavos.length(); i++) {
+            if (centavos.get(i) != outro.centavos.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indice(int ano, int mes, TipoLancamento tipo, StatusLancamento status) {
+        return (ano - anoInicial) * CELULAS_POR_ANO + (mes - 1) * TIPOS * STATUS + tipo.ordinal() * STATUS
+                + status.ordinal();
+    }
+}
@@ -1,5 +1,6 @@
 package com.marcotancredo.minhasfinancas.model.entity;
 
+import com.marcotancredo.minhasfinancas.model.busca.IndiceTrigramaListener;
 import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
 import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
 import jakarta.persistence.*;
@@ -14,6 +15,7 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "lancamento", schema = "financas")
+@EntityListeners(IndiceTrigramaListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,7 +23,8 @@ import java.time.LocalDate;
 public class Lancamento {
 
     @Id
-    @GeneratedValue( strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_seq")
+    @SequenceGenerator(name = "lancamento_seq", schema = "financas", sequenceName = "lancamento_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -52,4 +55,15 @@ public class Lancamento {
     @Column(name = "status")
     @Enumerated(value = EnumType.STRING)
     private StatusLancamento status;
+
+    // a origem não muda depois de gerada, nem quando o lançamento é substituído por um PUT
+    @Column(name = "id_recorrencia", updatable = false)
+    private Long idRecorrencia;
+
+    @Column(name = "parcela", updatable = false)
+    private Integer parcela;
+
+    @Version
+    @Column(name = "versao")
+    private Long versao;
 }
@@ -0,0 +1,59 @@
+package com.marcotancredo.minhasfinancas.model.entity;
+
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// gravado apenas pelo job de arquivamento, com insert ... select a partir de financas.lancamento
+@Entity
+@Immutable
+@Table(name = "lancamento_arquivo", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoArquivado {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "descricao")
+    private String descricao;
+
+    @Column(name = "mes")
+    private Integer mes;
+
+    @Column(name = "ano")
+    private Integer ano;
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(name = "valor")
+    private BigDecimal valor;
+
+    @Column(name = "data_cadastro")
+    @Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+    private LocalDate dataCadastro;
+
+    @Column(name = "tipo")
+    @Enumerated(value = EnumType.STRING)
+    private TipoLancamento tipo;
+
+    @Column(name = "status")
+    @Enumerated(value = EnumType.STRING)
+    private StatusLancamento status;
+
+    @Column(name = "versao")
+    private Long versao;
+}
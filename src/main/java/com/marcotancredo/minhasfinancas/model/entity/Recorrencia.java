@@ -0,0 +1,73 @@
+package com.marcotancredo.minhasfinancas.model.entity;
+
+import com.marcotancredo.minhasfinancas.model.enums.Periodicidade;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "recorrencia", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Recorrencia {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_usuario")
+    private Usuario usuario;
+
+    @Column(name = "descricao")
+    private String descricao;
+
+    // valor de cada ocorrência, ou o total a dividir quando parcelado
+    @Column(name = "valor")
+    private BigDecimal valor;
+
+    @Column(name = "tipo")
+    @Enumerated(value = EnumType.STRING)
+    private TipoLancamento tipo;
+
+    @Column(name = "periodicidade")
+    @Enumerated(value = EnumType.STRING)
+    private Periodicidade periodicidade;
+
+    @Column(name = "mes_inicio")
+    private Integer mesInicio;
+
+    @Column(name = "ano_inicio")
+    private Integer anoInicio;
+
+    // nula para recorrências sem fim
+    @Column(name = "quantidade")
+    private Integer quantidade;
+
+    @Column(name = "parcelado")
+    private boolean parcelado;
+
+    @Column(name = "parcelas_geradas")
+    private Integer parcelasGeradas;
+
+    @Column(name = "competencia_proxima")
+    private Integer competenciaProxima;
+
+    @Column(name = "data_cadastro")
+    @Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+    private LocalDate dataCadastro;
+
+    @Version
+    @Column(name = "versao")
+    private Long versao;
+}
@@ -0,0 +1,55 @@
+package com.marcotancredo.minhasfinancas.model.entity;
+
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "resumo_arquivado", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoArquivado {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(name = "ano")
+    private Integer ano;
+
+    @Column(name = "mes")
+    private Integer mes;
+
+    @Column(name = "tipo")
+    @Enumerated(value = EnumType.STRING)
+    private TipoLancamento tipo;
+
+    @Column(name = "status")
+    @Enumerated(value = EnumType.STRING)
+    private StatusLancamento status;
+
+    @Column(name = "quantidade")
+    private Long quantidade;
+
+    // precisão explícita: sem ela o Hibernate não tipa o parâmetro somado ao total no update
+    @Column(name = "total", precision = 18, scale = 2)
+    private BigDecimal total;
+
+    // usado pela totalização em JPQL dos lançamentos que serão arquivados
+    public ResumoArquivado(Long idUsuario, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status,
+                           Long quantidade, BigDecimal total) {
+        this(null, idUsuario, ano, mes, tipo, status, quantidade, total);
+    }
+}
@@ -0,0 +1,7 @@
+package com.marcotancredo.minhasfinancas.model.exception;
+
+public class ServicoIndisponivelException extends RuntimeException {
+    public ServicoIndisponivelException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,12 @@
+package com.marcotancredo.minhasfinancas.model.importacao;
+
+import java.io.BufferedReader;
+
+public enum FormatoExtrato {
+    CSV,
+    OFX;
+
+    public LeitorExtrato criarLeitor(BufferedReader reader) {
+        return this == CSV ? new LeitorExtratoCsv(reader) : new LeitorExtratoOfx(reader);
+    }
+}
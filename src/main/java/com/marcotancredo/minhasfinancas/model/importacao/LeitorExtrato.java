@@ -0,0 +1,14 @@
+package com.marcotancredo.minhasfinancas.model.importacao;
+
+import java.io.IOException;
+
+public interface LeitorExtrato {
+
+    /**
+     * Lê a próxima transação do extrato, consumindo apenas o necessário do fluxo de entrada.
+     * Retorna {@code null} ao final do arquivo e lança
+     * {@link com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException} quando a transação
+     * lida é inválida, permitindo que a leitura continue na seguinte.
+     */
+    LinhaExtrato proxima() throws IOException;
+}
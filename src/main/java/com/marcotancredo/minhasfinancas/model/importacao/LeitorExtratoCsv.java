@@ -0,0 +1,112 @@
+package com.marcotancredo.minhasfinancas.model.importacao;
+
+import com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LeitorExtratoCsv implements LeitorExtrato {
+
+    private static final DateTimeFormatter DATA_BRASILEIRA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final BufferedReader reader;
+    private int numeroLinha;
+    private char separador;
+
+    public LeitorExtratoCsv(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public LinhaExtrato proxima() throws IOException {
+        String linha;
+        while ((linha = reader.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+
+            boolean primeiraLinha = separador == 0;
+            if (primeiraLinha) {
+                separador = linha.indexOf(';') >= 0 ? ';' : ',';
+            }
+
+            List<String> campos = separar(linha);
+            if (primeiraLinha && !comecaComDigito(campos.get(0))) {
+                continue;
+            }
+
+            if (campos.size() < 3) {
+                throw new RegraNegocioException("Linha " + numeroLinha + ": informe data, descrição e valor");
+            }
+
+            return new LinhaExtrato(numeroLinha, data(campos.get(0)), campos.get(1).trim(), valor(campos.get(2)));
+        }
+
+        return null;
+    }
+
+    private List<String> separar(String linha) {
+        List<String> campos = new ArrayList<>(4);
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == '"') {
+                if (entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreAspas = !entreAspas;
+                }
+            } else if (c == separador && !entreAspas) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private LocalDate data(String valor) {
+        String data = valor.trim();
+        try {
+            return data.indexOf('/') >= 0 ? LocalDate.parse(data, DATA_BRASILEIRA) : LocalDate.parse(data);
+        } catch (DateTimeParseException ex) {
+            throw new RegraNegocioException("Linha " + numeroLinha + ": data inválida");
+        }
+    }
+
+    private BigDecimal valor(String valor) {
+        String numero = valor.replace("R$", "").replace(" ", "").trim();
+        int virgula = numero.lastIndexOf(',');
+        int ponto = numero.lastIndexOf('.');
+
+        if (virgula > ponto) {
+            numero = numero.replace(".", "").replace(',', '.');
+        } else if (virgula >= 0) {
+            numero = numero.replace(",", "");
+        }
+
+        try {
+            return new BigDecimal(numero);
+        } catch (NumberFormatException ex) {
+            throw new RegraNegocioException("Linha " + numeroLinha + ": valor inválido");
+        }
+    }
+
+    private static boolean comecaComDigito(String campo) {
+        String valor = campo.trim();
+        return !valor.isEmpty() && Character.isDigit(valor.charAt(0));
+    }
+}
@@ -0,0 +1,105 @@
+package com.marcotancredo.minhasfinancas.model.importacao;
+
+import com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class LeitorExtratoOfx implements LeitorExtrato {
+
+    private static final int TAMANHO_MAXIMO_VALOR = 1024;
+    private static final DateTimeFormatter DATA_OFX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final PushbackReader reader;
+    private final StringBuilder buffer = new StringBuilder();
+    private int numeroTransacao;
+
+    public LeitorExtratoOfx(Reader reader) {
+        this.reader = new PushbackReader(reader, 1);
+    }
+
+    @Override
+    public LinhaExtrato proxima() throws IOException {
+        Map<String, String> campos = null;
+        String tag;
+
+        while ((tag = lerTag()) != null) {
+            String nome = tag.toUpperCase(Locale.ROOT);
+            if (nome.equals("STMTTRN")) {
+                campos = new HashMap<>();
+            } else if (campos != null && nome.equals("/STMTTRN")) {
+                numeroTransacao++;
+                return converter(campos);
+            } else if (campos != null && !nome.startsWith("/")) {
+                String valor = lerValor();
+                if (!valor.isEmpty()) {
+                    campos.put(nome, valor);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private LinhaExtrato converter(Map<String, String> campos) {
+        String dataPostagem = campos.get("DTPOSTED");
+        String valor = campos.get("TRNAMT");
+        String descricao = campos.getOrDefault("MEMO", campos.get("NAME"));
+
+        if (dataPostagem == null || dataPostagem.length() < 8 || valor == null) {
+            throw new RegraNegocioException("Transação " + numeroTransacao + ": informe data e valor");
+        }
+
+        try {
+            LocalDate data = LocalDate.parse(dataPostagem.substring(0, 8), DATA_OFX);
+            return new LinhaExtrato(numeroTransacao, data, descricao, new BigDecimal(valor.replace(',', '.')));
+        } catch (DateTimeParseException ex) {
+            throw new RegraNegocioException("Transação " + numeroTransacao + ": data inválida");
+        } catch (NumberFormatException ex) {
+            throw new RegraNegocioException("Transação " + numeroTransacao + ": valor inválido");
+        }
+    }
+
+    private String lerTag() throws IOException {
+        int c;
+        do {
+            c = reader.read();
+        } while (c != -1 && c != '<');
+
+        buffer.setLength(0);
+        while (c != -1 && (c = reader.read()) != -1 && c != '>') {
+            if (buffer.length() < TAMANHO_MAXIMO_VALOR) {
+                buffer.append((char) c);
+            }
+        }
+
+        return c == -1 ? null : buffer.toString().trim();
+    }
+
+    private String lerValor() throws IOException {
+        buffer.setLength(0);
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            if (buffer.length() < TAMANHO_MAXIMO_VALOR) {
+                buffer.append((char) c);
+            }
+        }
+
+        if (c == '<') {
+            reader.unread(c);
+        }
+
+        return buffer.toString().trim()
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&amp;", "&");
+    }
+}
@@ -0,0 +1,17 @@
+package com.marcotancredo.minhasfinancas.model.importacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class LinhaExtrato {
+
+    private int numero;
+    private LocalDate data;
+    private String descricao;
+    private BigDecimal valor;
+}
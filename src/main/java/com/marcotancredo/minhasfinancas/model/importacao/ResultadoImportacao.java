@@ -0,0 +1,91 @@
+package com.marcotancredo.minhasfinancas.model.importacao;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResultadoImportacao {
+
+    public enum Situacao {
+        EM_ANDAMENTO,
+        CONCLUIDA,
+        FALHOU
+    }
+
+    private static final int MAXIMO_ERROS = 100;
+
+    private final String id;
+    private final Long idUsuario;
+    private final FormatoExtrato formato;
+    private final AtomicInteger linhasLidas = new AtomicInteger();
+    private final AtomicInteger importadas = new AtomicInteger();
+    private final AtomicInteger rejeitadas = new AtomicInteger();
+    private final List<String> erros = new CopyOnWriteArrayList<>();
+    private volatile Situacao situacao = Situacao.EM_ANDAMENTO;
+
+    public ResultadoImportacao(String id, Long idUsuario, FormatoExtrato formato) {
+        this.id = id;
+        this.idUsuario = idUsuario;
+        this.formato = formato;
+    }
+
+    public void registrarLeitura() {
+        linhasLidas.incrementAndGet();
+    }
+
+    public void registrarImportacao(int quantidade) {
+        importadas.addAndGet(quantidade);
+    }
+
+    public void registrarRejeicao(String erro) {
+        rejeitadas.incrementAndGet();
+        registrarErro(erro);
+    }
+
+    public void concluir() {
+        situacao = Situacao.CONCLUIDA;
+    }
+
+    public void falhar(String erro) {
+        registrarErro(erro);
+        situacao = Situacao.FALHOU;
+    }
+
+    private void registrarErro(String erro) {
+        if (erros.size() < MAXIMO_ERROS) {
+            erros.add(erro);
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public FormatoExtrato getFormato() {
+        return formato;
+    }
+
+    public int getLinhasLidas() {
+        return linhasLidas.get();
+    }
+
+    public int getImportadas() {
+        return importadas.get();
+    }
+
+    public int getRejeitadas() {
+        return rejeitadas.get();
+    }
+
+    public List<String> getErros() {
+        return List.copyOf(erros);
+    }
+
+    public Situacao getSituacao() {
+        return situacao;
+    }
+}
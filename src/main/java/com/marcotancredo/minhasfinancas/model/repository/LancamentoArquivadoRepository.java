@@ -0,0 +1,87 @@
+package com.marcotancredo.minhasfinancas.model.repository;
+
+import com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO;
+import com.marcotancredo.minhasfinancas.model.entity.LancamentoArquivado;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// mesmas consultas de LancamentoRepository, sobre financas.lancamento_arquivo
+public interface LancamentoArquivadoRepository extends JpaRepository<LancamentoArquivado, Long> {
+
+    String PROJECAO_DTO = "select new com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO(" +
+            "l.id, l.descricao, l.mes, l.ano, l.valor, l.idUsuario, l.tipo, l.status, l.versao) " +
+            "from LancamentoArquivado l ";
+
+    @Query(value = PROJECAO_DTO + "where l.id = :id")
+    Optional<LancamentoDTO> obterDTOPorId(@Param("id") Long id);
+
+    @Query(value = PROJECAO_DTO + "where l.id in :ids")
+    List<LancamentoDTO> listarPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = PROJECAO_DTO +
+            "where l.idUsuario = :idUsuario " +
+            "and (:ano is null or l.ano = :ano) " +
+            "and (:mes is null or l.mes = :mes) " +
+            "and lower(l.descricao) like :descricao escape '!' " +
+            "order by l.ano, l.mes, l.id")
+    List<LancamentoDTO> listarPorFiltro(@Param("idUsuario") Long idUsuario,
+                                        @Param("ano") Integer ano,
+                                        @Param("mes") Integer mes,
+                                        @Param("descricao") String descricao);
+
+    @Query(value = PROJECAO_DTO +
+            "where l.idUsuario = :idUsuario " +
+            "and (:ano is null or l.ano = :ano) " +
+            "and (:mes is null or l.mes = :mes) " +
+            "and lower(l.descricao) like :descricao escape '!' " +
+            "order by l.ano, l.mes, l.id")
+    Slice<LancamentoDTO> buscarPrimeiraPagina(@Param("idUsuario") Long idUsuario,
+                                              @Param("ano") Integer ano,
+                                              @Param("mes") Integer mes,
+                                              @Param("descricao") String descricao,
+                                              Pageable pagina);
+
+    @Query(value = PROJECAO_DTO +
+            "where l.idUsuario = :idUsuario " +
+            "and (:ano is null or l.ano = :ano) " +
+            "and (:mes is null or l.mes = :mes) " +
+            "and lower(l.descricao) like :descricao escape '!' " +
+            "and (l.ano > :anoCursor " +
+            "or (l.ano = :anoCursor and l.mes > :mesCursor) " +
+            "or (l.ano = :anoCursor and l.mes = :mesCursor and l.id > :idCursor)) " +
+            "order by l.ano, l.mes, l.id")
+    Slice<LancamentoDTO> buscarPaginaApos(@Param("idUsuario") Long idUsuario,
+                                          @Param("ano") Integer ano,
+                                          @Param("mes") Integer mes,
+                                          @Param("descricao") String descricao,
+                                          @Param("anoCursor") Integer anoCursor,
+                                          @Param("mesCursor") Integer mesCursor,
+                                          @Param("idCursor") Long idCursor,
+                                          Pageable pagina);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "select l from LancamentoArquivado l where l.idUsuario = :idUsuario order by l.ano, l.mes, l.id")
+    Stream<LancamentoArquivado> streamPorUsuario(@Param("idUsuario") Long idUsuario);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into financas.lancamento_arquivo " +
+            "(id, descricao, mes, ano, valor, tipo, status, id_usuario, data_cadastro, versao) " +
+            "select l.id, l.descricao, l.mes, l.ano, l.valor, l.tipo, l.status, l.id_usuario, l.data_cadastro, l.versao " +
+            "from financas.lancamento l where l.id in :ids and l.ano < :anoCorte")
+    int copiar(@Param("ids") Collection<Long> ids, @Param("anoCorte") Integer anoCorte);
+}
@@ -1,19 +1,169 @@
 package com.marcotancredo.minhasfinancas.model.repository;
 
+import com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO;
 import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.ResumoArquivado;
 import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
 import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, LancamentoRepositoryCustom {
 
     @Query(value = "select sum(l.valor) from Lancamento l join l.usuario u " +
             "where u.id = :idUsuario and l.tipo = :tipo and l.status = :status group by u")
     BigDecimal obterSaldoPorTipoLancamentoEUsuarioEStatus(@Param("idUsuario") Long idUsuario,
                                                           @Param("tipo") TipoLancamento tipo,
                                                           @Param("status") StatusLancamento status);
+
+    @Query(value = "select l.usuario.id as idUsuario, l.ano as ano, l.mes as mes, l.valor as valor, l.tipo as tipo, " +
+            "l.status as status, l.versao as versao from Lancamento l where l.id = :id")
+    Optional<SituacaoLancamento> obterSituacao(@Param("id") Long id);
+
+    @Query(value = "select l.ano as ano, l.mes as mes, l.tipo as tipo, l.status as status, sum(l.valor) as total " +
+            "from Lancamento l where l.usuario.id = :idUsuario " +
+            "group by l.ano, l.mes, l.tipo, l.status")
+    List<TotalPeriodo> obterTotaisPorPeriodo(@Param("idUsuario") Long idUsuario);
+
+    String PROJECAO_DTO = "select new com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO(" +
+            "l.id, l.descricao, l.mes, l.ano, l.valor, l.usuario.id, l.tipo, l.status, l.versao) " +
+            "from Lancamento l ";
+
+    @Query(value = PROJECAO_DTO + "where l.id = :id")
+    Optional<LancamentoDTO> obterDTOPorId(@Param("id") Long id);
+
+    @Query(value = PROJECAO_DTO + "where l.id in :ids")
+    List<LancamentoDTO> listarPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query(nativeQuery = true, value = "select l.id from (" +
+            "select a.id, a.descricao from financas.lancamento a " +
+            "where a.id_usuario = :idUsuario and lower(a.descricao) like :padrao escape '!' " +
+            "union all " +
+            "select a.id, a.descricao from financas.lancamento_arquivo a " +
+            "where a.id_usuario = :idUsuario and lower(a.descricao) like :padrao escape '!') l " +
+            "order by similarity(lower(l.descricao), :termo) desc, l.id " +
+            "limit :limite")
+    List<Long> buscarIdsPorSimilaridade(@Param("idUsuario") Long idUsuario,
+                                        @Param("padrao") String padrao,
+                                        @Param("termo") String termo,
+                                        @Param("limite") int limite);
+
+    @Query(value = PROJECAO_DTO +
+            "where l.usuario.id = :idUsuario " +
+            "and (:ano is null or l.ano = :ano) " +
+            "and (:mes is null or l.mes = :mes) " +
+            "and lower(l.descricao) like :descricao escape '!' " +
+            "order by l.ano, l.mes, l.id")
+    List<LancamentoDTO> listarPorFiltro(@Param("idUsuario") Long idUsuario,
+                                        @Param("ano") Integer ano,
+                                        @Param("mes") Integer mes,
+                                        @Param("descricao") String descricao);
+
+    @Query(value = PROJECAO_DTO +
+            "where l.usuario.id = :idUsuario " +
+            "and (:ano is null or l.ano = :ano) " +
+            "and (:mes is null or l.mes = :mes) " +
+            "and lower(l.descricao) like :descricao escape '!' " +
+            "order by l.ano, l.mes, l.id")
+    Slice<LancamentoDTO> buscarPrimeiraPagina(@Param("idUsuario") Long idUsuario,
+                                              @Param("ano") Integer ano,
+                                              @Param("mes") Integer mes,
+                                              @Param("descricao") String descricao,
+                                              Pageable pagina);
+
+    @Query(value = PROJECAO_DTO +
+            "where l.usuario.id = :idUsuario " +
+            "and (:ano is null or l.ano = :ano) " +
+            "and (:mes is null or l.mes = :mes) " +
+            "and lower(l.descricao) like :descricao escape '!' " +
+            "and (l.ano > :anoCursor " +
+            "or (l.ano = :anoCursor and l.mes > :mesCursor) " +
+            "or (l.ano = :anoCursor and l.mes = :mesCursor and l.id > :idCursor)) " +
+            "order by l.ano, l.mes, l.id")
+    Slice<LancamentoDTO> buscarPaginaApos(@Param("idUsuario") Long idUsuario,
+                                          @Param("ano") Integer ano,
+                                          @Param("mes") Integer mes,
+                                          @Param("descricao") String descricao,
+                                          @Param("anoCursor") Integer anoCursor,
+                                          @Param("mesCursor") Integer mesCursor,
+                                          @Param("idCursor") Long idCursor,
+                                          Pageable pagina);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "select l from Lancamento l where l.usuario.id = :idUsuario order by l.ano, l.mes, l.id")
+    Stream<Lancamento> streamPorUsuario(@Param("idUsuario") Long idUsuario);
+
+    @Modifying
+    @Query(value = "update Lancamento l set l.status = :status, l.versao = l.versao + 1 " +
+            "where l.usuario.id = :idUsuario " +
+            "and (:ano is null or l.ano = :ano) " +
+            "and (:mes is null or l.mes = :mes) " +
+            "and (:tipo is null or l.tipo = :tipo)")
+    int atualizarStatusPorFiltro(@Param("idUsuario") Long idUsuario,
+                                 @Param("ano") Integer ano,
+                                 @Param("mes") Integer mes,
+                                 @Param("tipo") TipoLancamento tipo,
+                                 @Param("status") StatusLancamento status);
+
+    @Modifying
+    @Query(value = "update Lancamento l set l.status = :status, l.versao = l.versao + 1 " +
+            "where l.usuario.id = :idUsuario and l.id in :ids")
+    int atualizarStatusPorIds(@Param("idUsuario") Long idUsuario,
+                              @Param("ids") List<Long> ids,
+                              @Param("status") StatusLancamento status);
+
+    @Modifying
+    @Query(value = "delete from Lancamento l " +
+            "where l.usuario.id = :idUsuario " +
+            "and (:ano is null or l.ano = :ano) " +
+            "and (:mes is null or l.mes = :mes) " +
+            "and (:tipo is null or l.tipo = :tipo)")
+    int deletarPorFiltro(@Param("idUsuario") Long idUsuario,
+                         @Param("ano") Integer ano,
+                         @Param("mes") Integer mes,
+                         @Param("tipo") TipoLancamento tipo);
+
+    @Modifying
+    @Query(value = "delete from Lancamento l where l.usuario.id = :idUsuario and l.id in :ids")
+    int deletarPorIds(@Param("idUsuario") Long idUsuario,
+                      @Param("ids") List<Long> ids);
+
+    @Query(value = "select distinct l.usuario.id from Lancamento l where l.ano < :anoCorte")
+    List<Long> listarUsuariosComLancamentosAntesDe(@Param("anoCorte") Integer anoCorte);
+
+    @Query(value = "select l.id from Lancamento l where l.usuario.id = :idUsuario and l.ano < :anoCorte order by l.id")
+    List<Long> buscarIdsAntesDe(@Param("idUsuario") Long idUsuario,
+                                @Param("anoCorte") Integer anoCorte,
+                                Pageable pagina);
+
+    @Modifying
+    @Query(value = "update Lancamento l set l.versao = l.versao + 1 where l.id in :ids and l.ano < :anoCorte")
+    int reservarParaArquivamento(@Param("ids") Collection<Long> ids, @Param("anoCorte") Integer anoCorte);
+
+    @Query(value = "select new com.marcotancredo.minhasfinancas.model.entity.ResumoArquivado(" +
+            "l.usuario.id, l.ano, l.mes, l.tipo, l.status, count(l), sum(l.valor)) " +
+            "from Lancamento l where l.id in :ids and l.ano < :anoCorte " +
+            "group by l.usuario.id, l.ano, l.mes, l.tipo, l.status")
+    List<ResumoArquivado> totalizarParaArquivamento(@Param("ids") Collection<Long> ids,
+                                                    @Param("anoCorte") Integer anoCorte);
+
+    @Modifying
+    @Query(value = "delete from Lancamento l where l.id in :ids and l.ano < :anoCorte")
+    int removerArquivados(@Param("ids") Collection<Long> ids, @Param("anoCorte") Integer anoCorte);
 }
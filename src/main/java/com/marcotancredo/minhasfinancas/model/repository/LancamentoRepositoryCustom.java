@@ -0,0 +1,12 @@
+package com.marcotancredo.minhasfinancas.model.repository;
+
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+
+public interface LancamentoRepositoryCustom {
+
+    /**
+     * Atualiza, em uma única instrução, apenas as colunas preenchidas em {@code alteracoes} e incrementa a versão.
+     * Quando {@code versao} é informada, a linha só é alterada se ainda estiver nessa versão.
+     */
+    int atualizarCampos(Long id, Long versao, Lancamento alteracoes);
+}
@@ -0,0 +1,51 @@
+package com.marcotancredo.minhasfinancas.model.repository;
+
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.math.BigDecimal;
+
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int atualizarCampos(Long id, Long versao, Lancamento alteracoes) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Lancamento> update = builder.createCriteriaUpdate(Lancamento.class);
+        Root<Lancamento> lancamento = update.from(Lancamento.class);
+
+        if (alteracoes.getDescricao() != null) {
+            update.set(lancamento.<String>get("descricao"), alteracoes.getDescricao());
+        }
+        if (alteracoes.getMes() != null) {
+            update.set(lancamento.<Integer>get("mes"), alteracoes.getMes());
+        }
+        if (alteracoes.getAno() != null) {
+            update.set(lancamento.<Integer>get("ano"), alteracoes.getAno());
+        }
+        if (alteracoes.getValor() != null) {
+            update.set(lancamento.<BigDecimal>get("valor"), alteracoes.getValor());
+        }
+        if (alteracoes.getTipo() != null) {
+            update.set(lancamento.<TipoLancamento>get("tipo"), alteracoes.getTipo());
+        }
+        if (alteracoes.getStatus() != null) {
+            update.set(lancamento.<StatusLancamento>get("status"), alteracoes.getStatus());
+        }
+        update.set(lancamento.<Long>get("versao"), builder.sum(lancamento.<Long>get("versao"), 1L));
+
+        Predicate porId = builder.equal(lancamento.get("id"), id);
+        update.where(versao == null ? porId : builder.and(porId, builder.equal(lancamento.get("versao"), versao)));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -0,0 +1,22 @@
+package com.marcotancredo.minhasfinancas.model.repository;
+
+import com.marcotancredo.minhasfinancas.model.entity.Recorrencia;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface RecorrenciaRepository extends JpaRepository<Recorrencia, Long> {
+
+    // serializa geradores concorrentes da mesma recorrência até o fim da transação
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "select r from Recorrencia r where r.id = :id")
+    Optional<Recorrencia> obterParaGeracao(@Param("id") Long id);
+
+    @Query(value = "select r.id from Recorrencia r where r.competenciaProxima <= :competenciaLimite order by r.id")
+    List<Long> listarParaEstender(@Param("competenciaLimite") Integer competenciaLimite);
+}
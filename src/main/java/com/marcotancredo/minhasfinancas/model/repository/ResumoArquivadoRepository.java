@@ -0,0 +1,45 @@
+package com.marcotancredo.minhasfinancas.model.repository;
+
+import com.marcotancredo.minhasfinancas.model.entity.ResumoArquivado;
+import com.marcotancredo.minhasfinancas.model.entity.SaldoUsuario;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ResumoArquivadoRepository extends JpaRepository<ResumoArquivado, Long> {
+
+    @Modifying
+    @Query(value = "update ResumoArquivado r set r.quantidade = r.quantidade + :quantidade, r.total = r.total + :total " +
+            "where r.idUsuario = :idUsuario and r.ano = :ano and r.mes = :mes and r.tipo = :tipo and r.status = :status")
+    int acumular(@Param("idUsuario") Long idUsuario,
+                 @Param("ano") Integer ano,
+                 @Param("mes") Integer mes,
+                 @Param("tipo") TipoLancamento tipo,
+                 @Param("status") StatusLancamento status,
+                 @Param("quantidade") Long quantidade,
+                 @Param("total") BigDecimal total);
+
+    @Query(value = "select r.ano as ano, r.mes as mes, r.tipo as tipo, r.status as status, sum(r.total) as total " +
+            "from ResumoArquivado r where r.idUsuario = :idUsuario " +
+            "group by r.ano, r.mes, r.tipo, r.status")
+    List<TotalPeriodo> obterTotaisPorPeriodo(@Param("idUsuario") Long idUsuario);
+
+    @Query(value = "select new com.marcotancredo.minhasfinancas.model.entity.SaldoUsuario(r.idUsuario, " +
+            "sum(case when r.tipo = :receita then r.total else -r.total end)) " +
+            "from ResumoArquivado r where r.status = :status group by r.idUsuario")
+    List<SaldoUsuario> obterSaldos(@Param("receita") TipoLancamento receita,
+                                   @Param("status") StatusLancamento status);
+
+    @Query(value = "select new com.marcotancredo.minhasfinancas.model.entity.SaldoUsuario(r.idUsuario, " +
+            "sum(case when r.tipo = :receita then r.total else -r.total end)) " +
+            "from ResumoArquivado r where r.idUsuario = :idUsuario and r.status = :status group by r.idUsuario")
+    List<SaldoUsuario> obterSaldosPorUsuario(@Param("idUsuario") Long idUsuario,
+                                             @Param("receita") TipoLancamento receita,
+                                             @Param("status") StatusLancamento status);
+}
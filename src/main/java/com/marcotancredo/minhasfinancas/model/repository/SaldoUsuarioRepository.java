@@ -0,0 +1,37 @@
+package com.marcotancredo.minhasfinancas.model.repository;
+
+import com.marcotancredo.minhasfinancas.model.entity.SaldoUsuario;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, Long> {
+
+    @Modifying
+    @Query(value = "update SaldoUsuario s set s.saldo = s.saldo + :valor where s.idUsuario = :idUsuario")
+    int acumular(@Param("idUsuario") Long idUsuario, @Param("valor") BigDecimal valor);
+
+    // uma linha por usuário, inclusive os que ainda não têm lançamento efetivado
+    @Modifying
+    @Query(value = "insert into SaldoUsuario (idUsuario, saldo) " +
+            "select u.id, coalesce((select sum(case when l.tipo = :receita then l.valor else -l.valor end) " +
+            "from Lancamento l where l.usuario.id = u.id and l.status = :status), 0) " +
+            "from Usuario u")
+    int reconstruir(@Param("receita") TipoLancamento receita,
+                    @Param("status") StatusLancamento status);
+
+    // recalcula sobre a linha existente, sem apagá-la, para não perder uma escrita concorrente
+    @Modifying
+    @Query(value = "update SaldoUsuario s " +
+            "set s.saldo = coalesce((select sum(case when l.tipo = :receita then l.valor else -l.valor end) " +
+            "from Lancamento l where l.usuario.id = s.idUsuario and l.status = :status), 0) " +
+            "where s.idUsuario = :idUsuario")
+    int reconstruirPorUsuario(@Param("idUsuario") Long idUsuario,
+                              @Param("receita") TipoLancamento receita,
+                              @Param("status") StatusLancamento status);
+}
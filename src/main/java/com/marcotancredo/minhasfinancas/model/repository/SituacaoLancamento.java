@@ -0,0 +1,23 @@
+package com.marcotancredo.minhasfinancas.model.repository;
+
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+
+import java.math.BigDecimal;
+
+public interface SituacaoLancamento {
+
+    Long getIdUsuario();
+
+    Integer getAno();
+
+    Integer getMes();
+
+    BigDecimal getValor();
+
+    TipoLancamento getTipo();
+
+    StatusLancamento getStatus();
+
+    Long getVersao();
+}
@@ -0,0 +1,17 @@
+package com.marcotancredo.minhasfinancas.model.repository;
+
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+
+import java.math.BigDecimal;
+
+public interface TotalLancamentos {
+
+    Integer getMes();
+
+    TipoLancamento getTipo();
+
+    StatusLancamento getStatus();
+
+    BigDecimal getTotal();
+}
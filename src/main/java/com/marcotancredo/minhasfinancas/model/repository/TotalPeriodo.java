@@ -0,0 +1,6 @@
+package com.marcotancredo.minhasfinancas.model.repository;
+
+public interface TotalPeriodo extends TotalLancamentos {
+
+    Integer getAno();
+}
@@ -1,7 +1,11 @@
 package com.marcotancredo.minhasfinancas.model.repository;
 
 import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -10,4 +14,8 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     boolean existsByEmail(String email);
 
     Optional<Usuario> findByEmail(String email);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "select u from Usuario u where u.id = :id")
+    Optional<Usuario> obterParaAtualizacao(@Param("id") Long id);
 }
@@ -0,0 +1,13 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import java.util.List;
+
+public interface ArquivamentoService {
+
+    // lançamentos com ano anterior a este podem estar no arquivo
+    int obterAnoCorte();
+
+    List<Long> listarUsuariosParaArquivar(int anoCorte);
+
+    int arquivarLote(Long idUsuario, int anoCorte);
+}
@@ -0,0 +1,22 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import com.marcotancredo.minhasfinancas.model.cubo.CuboLancamentos;
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+
+import java.util.List;
+
+public interface CuboLancamentosService {
+
+    CuboLancamentos obterCubo(Long idUsuario);
+
+    // aplicada ao cubo depois do commit; anterior ou atual nulos para inclusão e exclusão
+    void registrarAlteracao(Lancamento anterior, Lancamento atual);
+
+    // alterações em massa: o cubo do usuário é descartado depois do commit
+    void registrarAlteracao(Long idUsuario);
+
+    // compara o cubo em memória com o banco e o descarta se divergir
+    boolean verificarConsistencia(Long idUsuario);
+
+    List<Long> listarUsuariosEmCache();
+}
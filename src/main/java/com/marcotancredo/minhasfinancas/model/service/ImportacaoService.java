@@ -0,0 +1,15 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.importacao.FormatoExtrato;
+import com.marcotancredo.minhasfinancas.model.importacao.ResultadoImportacao;
+
+import java.io.BufferedReader;
+import java.util.List;
+
+public interface ImportacaoService {
+
+    ResultadoImportacao importar(Usuario usuario, FormatoExtrato formato, BufferedReader conteudo);
+
+    List<ResultadoImportacao> obterEmAndamento(Long idUsuario);
+}
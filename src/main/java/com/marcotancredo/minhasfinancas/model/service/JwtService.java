@@ -4,6 +4,8 @@ import com.marcotancredo.minhasfinancas.model.entity.Usuario;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 
+import java.util.Optional;
+
 public interface JwtService {
 
     String gerarToken(Usuario usuario);
@@ -12,5 +14,7 @@ public interface JwtService {
 
     boolean isTokenValido(String token);
 
+    Optional<Claims> obterClaimsValidas(String token);
+
     String obterLoginUsuario(String token);
 }
@@ -1,20 +1,32 @@
 package com.marcotancredo.minhasfinancas.model.service;
 
+import com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO;
 import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
 import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface LancamentoService {
 
     Lancamento salvar(Lancamento lancamento);
+    List<Lancamento> salvarEmLote(List<Lancamento> lancamentos);
     Lancamento atualizar(Lancamento lancamento);
+    boolean atualizarParcialmente(Long id, Long versao, Lancamento alteracoes);
     void deletar(Lancamento lancamento);
     List<Lancamento> buscar(Lancamento lancamentoFiltro);
+    List<LancamentoDTO> listar(Lancamento lancamentoFiltro);
+    List<LancamentoDTO> buscarPorDescricao(Long idUsuario, String termo, int limite);
+    Slice<LancamentoDTO> buscarPagina(Lancamento lancamentoFiltro, Lancamento posicao, int limite);
+    void exportar(Long idUsuario, Consumer<Lancamento> consumidor);
     void atualizarStatus(Lancamento lancamento, StatusLancamento status);
+    int atualizarStatusEmLote(Lancamento lancamentoFiltro, List<Long> ids, StatusLancamento status);
+    int deletarEmLote(Lancamento lancamentoFiltro, List<Long> ids);
     void validar(Lancamento lancamento);
     Optional<Lancamento> obterPorId(Long id);
+    Optional<LancamentoDTO> obterDTOPorId(Long id);
     BigDecimal obterSaldoPorUsuarioEStatus(Long id);
 }
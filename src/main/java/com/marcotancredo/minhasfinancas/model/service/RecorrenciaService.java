@@ -0,0 +1,15 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import com.marcotancredo.minhasfinancas.model.entity.Recorrencia;
+
+import java.util.List;
+
+public interface RecorrenciaService {
+
+    Recorrencia criar(Recorrencia recorrencia);
+
+    // gera as ocorrências que faltam até o horizonte; devolve quantas foram criadas
+    int gerar(Long idRecorrencia);
+
+    List<Long> listarParaEstender();
+}
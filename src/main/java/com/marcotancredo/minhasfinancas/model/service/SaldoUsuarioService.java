@@ -0,0 +1,18 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+
+import java.math.BigDecimal;
+
+public interface SaldoUsuarioService {
+
+    void criar(Long idUsuario);
+
+    void registrarAlteracao(Lancamento anterior, Lancamento atual);
+
+    BigDecimal obterSaldo(Long idUsuario);
+
+    void reconstruir();
+
+    void reconstruir(Long idUsuario);
+}
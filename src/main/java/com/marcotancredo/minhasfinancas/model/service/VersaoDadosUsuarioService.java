@@ -0,0 +1,12 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import org.springframework.http.MediaType;
+
+public interface VersaoDadosUsuarioService {
+
+    String obterEtag(Long idUsuario, MediaType representacao);
+
+    long obterVersao(Long idUsuario);
+
+    void registrarAlteracao(Long idUsuario);
+}
@@ -0,0 +1,83 @@
+package com.marcotancredo.minhasfinancas.model.service.impl;
+
+import com.marcotancredo.minhasfinancas.model.entity.ResumoArquivado;
+import com.marcotancredo.minhasfinancas.model.repository.LancamentoArquivadoRepository;
+import com.marcotancredo.minhasfinancas.model.repository.LancamentoRepository;
+import com.marcotancredo.minhasfinancas.model.repository.ResumoArquivadoRepository;
+import com.marcotancredo.minhasfinancas.model.service.ArquivamentoService;
+import com.marcotancredo.minhasfinancas.model.service.CuboLancamentosService;
+import com.marcotancredo.minhasfinancas.model.service.VersaoDadosUsuarioService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Year;
+import java.util.List;
+
+@Service
+public class ArquivamentoServiceImpl implements ArquivamentoService {
+
+    private final LancamentoRepository lancamentoRepository;
+    private final LancamentoArquivadoRepository arquivadoRepository;
+    private final ResumoArquivadoRepository resumoRepository;
+    private final VersaoDadosUsuarioService versaoDadosUsuarioService;
+    private final CuboLancamentosService cuboLancamentosService;
+    private final int anosAbertos;
+    private final int tamanhoLote;
+
+    public ArquivamentoServiceImpl(LancamentoRepository lancamentoRepository,
+                                   LancamentoArquivadoRepository arquivadoRepository,
+                                   ResumoArquivadoRepository resumoRepository,
+                                   VersaoDadosUsuarioService versaoDadosUsuarioService,
+                                   CuboLancamentosService cuboLancamentosService,
+                                   @Value("${minhasfinancas.arquivamento.anos-abertos:1}") int anosAbertos,
+                                   @Value("${minhasfinancas.arquivamento.tamanho-lote:1000}") int tamanhoLote) {
+        this.lancamentoRepository = lancamentoRepository;
+        this.arquivadoRepository = arquivadoRepository;
+        this.resumoRepository = resumoRepository;
+        this.versaoDadosUsuarioService = versaoDadosUsuarioService;
+        this.cuboLancamentosService = cuboLancamentosService;
+        this.anosAbertos = Math.max(anosAbertos, 1);
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    public int obterAnoCorte() {
+        return Year.now().getValue() - anosAbertos + 1;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> listarUsuariosParaArquivar(int anoCorte) {
+        return lancamentoRepository.listarUsuariosComLancamentosAntesDe(anoCorte);
+    }
+
+    @Override
+    @Transactional
+    public int arquivarLote(Long idUsuario, int anoCorte) {
+        List<Long> ids = lancamentoRepository.buscarIdsAntesDe(idUsuario, anoCorte, PageRequest.ofSize(tamanhoLote));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // incrementar a versão bloqueia as linhas até o fim da transação, então a totalização, a cópia e a
+        // exclusão enxergam os mesmos valores, e edições concorrentes com a versão antiga recebem conflito
+        lancamentoRepository.reservarParaArquivamento(ids, anoCorte);
+        List<ResumoArquivado> totais = lancamentoRepository.totalizarParaArquivamento(ids, anoCorte);
+        arquivadoRepository.copiar(ids, anoCorte);
+        int arquivados = lancamentoRepository.removerArquivados(ids, anoCorte);
+
+        for (ResumoArquivado total : totais) {
+            if (resumoRepository.acumular(total.getIdUsuario(), total.getAno(), total.getMes(), total.getTipo(),
+                    total.getStatus(), total.getQuantidade(), total.getTotal()) == 0) {
+                resumoRepository.save(total);
+            }
+        }
+
+        // os totais não mudam, mas o cubo não pode ser montado enquanto linhas trocam de tabela
+        cuboLancamentosService.registrarAlteracao(idUsuario);
+        versaoDadosUsuarioService.registrarAlteracao(idUsuario);
+        return arquivados;
+    }
+}
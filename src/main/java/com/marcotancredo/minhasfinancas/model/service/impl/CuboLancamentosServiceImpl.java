@@ -0,0 +1,295 @@
+package com.marcotancredo.minhasfinancas.model.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.marcotancredo.minhasfinancas.model.cubo.CuboLancamentos;
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import com.marcotancredo.minhasfinancas.model.repository.LancamentoRepository;
+import com.marcotancredo.minhasfinancas.model.repository.ResumoArquivadoRepository;
+import com.marcotancredo.minhasfinancas.model.repository.TotalPeriodo;
+import com.marcotancredo.minhasfinancas.model.service.CuboLancamentosService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class CuboLancamentosServiceImpl implements CuboLancamentosService {
+
+    // controle de concorrência por faixa de usuários: colisões só fazem um cubo deixar de ir para o cache
+    private static final int FAIXAS = 4096;
+
+    private final LancamentoRepository lancamentoRepository;
+    private final ResumoArquivadoRepository resumoArquivadoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<Long, CuboLancamentos> cubos;
+    private final Counter divergencias;
+
+    // escritas entre o beforeCommit e o afterCompletion, e quantas já terminaram
+    private final AtomicIntegerArray pendentes = new AtomicIntegerArray(FAIXAS);
+    private final AtomicLongArray geracoes = new AtomicLongArray(FAIXAS);
+
+    public CuboLancamentosServiceImpl(LancamentoRepository lancamentoRepository,
+                                      ResumoArquivadoRepository resumoArquivadoRepository,
+                                      PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                      @Value("${minhasfinancas.cubo.peso-maximo:4000000}") long pesoMaximo) {
+        this.lancamentoRepository = lancamentoRepository;
+        this.resumoArquivadoRepository = resumoArquivadoRepository;
+        // o cubo é montado pelo primário: uma réplica atrasada deixaria no cache um cubo sem a última escrita
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cubos = Caffeine.newBuilder()
+                .maximumWeight(pesoMaximo)
+                .<Long, CuboLancamentos>weigher((idUsuario, cubo) -> cubo.getTamanho())
+                .recordStats()
+                .build();
+        this.divergencias = Counter.builder("minhasfinancas.cubo.divergencias")
+                .description("Cubos descartados por divergirem do banco")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cubos, "lancamentos.cubo");
+    }
+
+    @Override
+    public CuboLancamentos obterCubo(Long idUsuario) {
+        CuboLancamentos cubo = cubos.getIfPresent(idUsuario);
+        if (cubo != null) {
+            return cubo;
+        }
+
+        CuboLancamentos[] montado = new CuboLancamentos[1];
+        cubo = cubos.get(idUsuario, id -> {
+            int faixa = faixa(id);
+            long geracao = geracoes.get(faixa);
+            montado[0] = montar(id);
+            // uma escrita em andamento ou concluída durante a montagem pode ter ficado de fora (ou ser
+            // aplicada duas vezes), então esse cubo atende só esta leitura
+            return pendentes.get(faixa) == 0 && geracoes.get(faixa) == geracao ? montado[0] : null;
+        });
+        return cubo != null ? cubo : montado[0];
+    }
+
+    @Override
+    public void registrarAlteracao(Lancamento anterior, Lancamento atual) {
+        Variacao saida = Variacao.de(anterior, -1);
+        Variacao entrada = Variacao.de(atual, 1);
+        if (saida == null && entrada == null) {
+            return;
+        }
+
+        Alteracoes alteracoes = alteracoesDaTransacao();
+        if (saida != null) {
+            alteracoes.registrar(saida);
+        }
+        if (entrada != null) {
+            alteracoes.registrar(entrada);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            alteracoes.aplicar();
+        }
+    }
+
+    @Override
+    public void registrarAlteracao(Long idUsuario) {
+        if (idUsuario == null) {
+            return;
+        }
+
+        Alteracoes alteracoes = alteracoesDaTransacao();
+        alteracoes.descartar(idUsuario);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            alteracoes.aplicar();
+        }
+    }
+
+    @Override
+    public boolean verificarConsistencia(Long idUsuario) {
+        CuboLancamentos emCache = cubos.getIfPresent(idUsuario);
+        if (emCache == null) {
+            return true;
+        }
+
+        int faixa = faixa(idUsuario);
+        long geracao = geracoes.get(faixa);
+        CuboLancamentos doBanco = montar(idUsuario);
+        if (pendentes.get(faixa) != 0 || geracoes.get(faixa) != geracao) {
+            // houve escrita no meio da comparação, fica para a próxima verificação
+            return true;
+        }
+
+        if (emCache.igual(doBanco)) {
+            return true;
+        }
+
+        log.warn("Cubo de lançamentos do usuário {} divergente do banco, descartado", idUsuario);
+        divergencias.increment();
+        cubos.asMap().remove(idUsuario, emCache);
+        return false;
+    }
+
+    @Override
+    public List<Long> listarUsuariosEmCache() {
+        return new ArrayList<>(cubos.asMap().keySet());
+    }
+
+    private CuboLancamentos montar(Long idUsuario) {
+        return transactionTemplate.execute(status -> {
+            List<TotalPeriodo> ativos = lancamentoRepository.obterTotaisPorPeriodo(idUsuario);
+            List<TotalPeriodo> arquivados = resumoArquivadoRepository.obterTotaisPorPeriodo(idUsuario);
+
+            // sobra de um ano para cada lado, para que inclusões no ano seguinte não descartem o cubo
+            int anoAtual = Year.now().getValue();
+            int anoInicial = anoAtual - 1;
+            int anoFinal = anoAtual + 1;
+            for (TotalPeriodo total : ativos) {
+                anoInicial = Math.min(anoInicial, total.getAno());
+                anoFinal = Math.max(anoFinal, total.getAno());
+            }
+            for (TotalPeriodo total : arquivados) {
+                anoInicial = Math.min(anoInicial, total.getAno());
+                anoFinal = Math.max(anoFinal, total.getAno());
+            }
+
+            CuboLancamentos cubo = new CuboLancamentos(anoInicial, anoFinal);
+            Stream.concat(ativos.stream(), arquivados.stream())
+                    .filter(total -> total.getTipo() != null && total.getStatus() != null)
+                    .forEach(total -> cubo.somar(total.getAno(), total.getMes(), total.getTipo(), total.getStatus(),
+                            centavos(total.getTotal())));
+            return cubo;
+        });
+    }
+
+    private Alteracoes alteracoesDaTransacao() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new Alteracoes();
+        }
+
+        Alteracoes alteracoes = (Alteracoes) TransactionSynchronizationManager.getResource(this);
+        if (alteracoes == null) {
+            alteracoes = new Alteracoes();
+            TransactionSynchronizationManager.bindResource(this, alteracoes);
+            TransactionSynchronizationManager.registerSynchronization(alteracoes);
+        }
+        return alteracoes;
+    }
+
+    private static int faixa(Long idUsuario) {
+        return Long.hashCode(idUsuario) & (FAIXAS - 1);
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private record Variacao(Long idUsuario, int ano, int mes, TipoLancamento tipo, StatusLancamento status,
+                            long centavos) {
+
+        static Variacao de(Lancamento lancamento, int sinal) {
+            if (lancamento == null || lancamento.getUsuario() == null || lancamento.getUsuario().getId() == null
+                    || lancamento.getAno() == null || lancamento.getMes() == null || lancamento.getValor() == null
+                    || lancamento.getTipo() == null || lancamento.getStatus() == null) {
+                return null;
+            }
+            return new Variacao(lancamento.getUsuario().getId(), lancamento.getAno(), lancamento.getMes(),
+                    lancamento.getTipo(), lancamento.getStatus(),
+                    sinal * CuboLancamentosServiceImpl.centavos(lancamento.getValor()));
+        }
+    }
+
+    // alterações de uma transação, aplicadas de uma vez depois do commit
+    private class Alteracoes implements TransactionSynchronization {
+
+        private final List<Variacao> variacoes = new ArrayList<>();
+        private final Set<Long> descartados = new LinkedHashSet<>();
+        private final Set<Long> usuarios = new LinkedHashSet<>();
+        private boolean pendentesRegistrados;
+
+        void registrar(Variacao variacao) {
+            variacoes.add(variacao);
+            usuarios.add(variacao.idUsuario());
+        }
+
+        void descartar(Long idUsuario) {
+            descartados.add(idUsuario);
+            usuarios.add(idUsuario);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            usuarios.forEach(idUsuario -> pendentes.incrementAndGet(faixa(idUsuario)));
+            pendentesRegistrados = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CuboLancamentosServiceImpl.this);
+            try {
+                if (status == STATUS_COMMITTED) {
+                    aplicarNosCubos();
+                }
+            } finally {
+                encerrar();
+            }
+        }
+
+        void aplicar() {
+            try {
+                aplicarNosCubos();
+            } finally {
+                encerrar();
+            }
+        }
+
+        private void aplicarNosCubos() {
+            for (Long idUsuario : usuarios) {
+                if (descartados.contains(idUsuario)) {
+                    cubos.invalidate(idUsuario);
+                    continue;
+                }
+                cubos.asMap().computeIfPresent(idUsuario, (id, cubo) -> {
+                    for (Variacao variacao : variacoes) {
+                        if (!variacao.idUsuario().equals(id)) {
+                            continue;
+                        }
+                        if (!cubo.contem(variacao.ano())) {
+                            // ano fora do intervalo do cubo: remonta na próxima leitura
+                            return null;
+                        }
+                        cubo.somar(variacao.ano(), variacao.mes(), variacao.tipo(), variacao.status(),
+                                variacao.centavos());
+                    }
+                    return cubo;
+                });
+            }
+        }
+
+        private void encerrar() {
+            for (Long idUsuario : usuarios) {
+                int faixa = faixa(idUsuario);
+                geracoes.incrementAndGet(faixa);
+                if (pendentesRegistrados) {
+                    pendentes.decrementAndGet(faixa);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.marcotancredo.minhasfinancas.model.service.impl;
+
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException;
+import com.marcotancredo.minhasfinancas.model.importacao.FormatoExtrato;
+import com.marcotancredo.minhasfinancas.model.importacao.LeitorExtrato;
+import com.marcotancredo.minhasfinancas.model.importacao.LinhaExtrato;
+import com.marcotancredo.minhasfinancas.model.importacao.ResultadoImportacao;
+import com.marcotancredo.minhasfinancas.model.service.ImportacaoService;
+import com.marcotancredo.minhasfinancas.model.service.LancamentoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+public class ImportacaoServiceImpl implements ImportacaoService {
+
+    // tamanho da coluna lancamento.descricao: acima disso o lote inteiro falharia no insert
+    private static final int TAMANHO_MAXIMO_DESCRICAO = 100;
+
+    private final LancamentoService lancamentoService;
+    private final int tamanhoLote;
+    private final Map<String, ResultadoImportacao> emAndamento = new ConcurrentHashMap<>();
+
+    public ImportacaoServiceImpl(LancamentoService lancamentoService,
+                                 @Value("${minhasfinancas.importacao.tamanho-lote:500}") int tamanhoLote) {
+        this.lancamentoService = lancamentoService;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    public ResultadoImportacao importar(Usuario usuario, FormatoExtrato formato, BufferedReader conteudo) {
+        ResultadoImportacao resultado = new ResultadoImportacao(UUID.randomUUID().toString(), usuario.getId(), formato);
+        emAndamento.put(resultado.getId(), resultado);
+
+        try {
+            LeitorExtrato leitor = formato.criarLeitor(conteudo);
+            List<Lancamento> lote = new ArrayList<>(tamanhoLote);
+
+            while (true) {
+                LinhaExtrato linha;
+                try {
+                    linha = leitor.proxima();
+                } catch (RegraNegocioException ex) {
+                    resultado.registrarLeitura();
+                    resultado.registrarRejeicao(ex.getMessage());
+                    continue;
+                }
+
+                if (linha == null) {
+                    break;
+                }
+
+                resultado.registrarLeitura();
+                Lancamento lancamento = converter(linha, usuario);
+                try {
+                    lancamentoService.validar(lancamento);
+                    lote.add(lancamento);
+                } catch (RegraNegocioException ex) {
+                    resultado.registrarRejeicao("Linha " + linha.getNumero() + ": " + ex.getMessage());
+                }
+
+                if (lote.size() >= tamanhoLote) {
+                    gravar(lote, resultado);
+                }
+            }
+
+            gravar(lote, resultado);
+            resultado.concluir();
+        } catch (IOException ex) {
+            resultado.falhar("Não foi possível ler o extrato: " + ex.getMessage());
+        } catch (DataAccessException ex) {
+            log.error("Falha ao gravar lançamentos da importação {}", resultado.getId(), ex);
+            resultado.falhar("Não foi possível gravar os lançamentos, a importação foi interrompida.");
+        } finally {
+            emAndamento.remove(resultado.getId());
+        }
+
+        return resultado;
+    }
+
+    @Override
+    public List<ResultadoImportacao> obterEmAndamento(Long idUsuario) {
+        return emAndamento.values().stream()
+                .filter(resultado -> Objects.equals(resultado.getIdUsuario(), idUsuario))
+                .toList();
+    }
+
+    private void gravar(List<Lancamento> lote, ResultadoImportacao resultado) {
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        lancamentoService.salvarEmLote(lote);
+        resultado.registrarImportacao(lote.size());
+        lote.clear();
+    }
+
+    private static Lancamento converter(LinhaExtrato linha, Usuario usuario) {
+        String descricao = linha.getDescricao();
+        if (descricao != null && descricao.length() > TAMANHO_MAXIMO_DESCRICAO) {
+            descricao = descricao.substring(0, TAMANHO_MAXIMO_DESCRICAO);
+        }
+
+        return Lancamento.builder()
+                .descricao(descricao)
+                .mes(linha.getData().getMonthValue())
+                .ano(linha.getData().getYear())
+                .usuario(usuario)
+                .valor(linha.getValor().abs())
+                .tipo(linha.getValor().signum() < 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA)
+                .status(StatusLancamento.PENDENTE)
+                .dataCadastro(LocalDate.now())
+                .build();
+    }
+}
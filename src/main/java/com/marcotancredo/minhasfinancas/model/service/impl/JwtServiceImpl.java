@@ -1,26 +1,52 @@
 package com.marcotancredo.minhasfinancas.model.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.marcotancredo.minhasfinancas.model.entity.Usuario;
 import com.marcotancredo.minhasfinancas.model.service.JwtService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtServiceImpl implements JwtService {
 
     public static final DateTimeFormatter FORMAT_HOUR_MINUTE = DateTimeFormatter.ofPattern("HH:mm");
-    @Value("${jwt.expiracao}")
-    private String expiracao;
-    @Value("${jwt.chave-assinatura}")
-    private String chaveAssinatura;
+    private final String expiracao;
+    private final String chaveAssinatura;
+    private final Cache<String, Claims> claimsVerificadas;
+
+    public JwtServiceImpl(@Value("${jwt.expiracao}") String expiracao,
+                          @Value("${jwt.chave-assinatura}") String chaveAssinatura,
+                          @Value("${jwt.cache.tamanho-maximo:10000}") long tamanhoMaximoCache,
+                          MeterRegistry meterRegistry) {
+        this.expiracao = expiracao;
+        this.chaveAssinatura = chaveAssinatura;
+        this.claimsVerificadas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfter(new ExpiracaoDoToken())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsVerificadas, "jwt.claims");
+    }
 
     @Override
     public String gerarToken(Usuario usuario) {
@@ -39,22 +65,38 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public Claims obterClaims(String token) throws ExpiredJwtException {
-        return Jwts.parser()
-                .setSigningKey(chaveAssinatura)
-                .parseClaimsJws(token)
-                .getBody();
+        String chave = resumo(token);
+        Claims claims = claimsVerificadas.getIfPresent(chave);
+
+        if (claims == null) {
+            claims = Jwts.parser()
+                    .setSigningKey(chaveAssinatura)
+                    .parseClaimsJws(token)
+                    .getBody();
+
+            if (claims.getExpiration() != null) {
+                claimsVerificadas.put(chave, claims);
+            }
+        }
+
+        return claims;
     }
 
     @Override
     public boolean isTokenValido(String token) {
+        return obterClaimsValidas(token).isPresent();
+    }
+
+    @Override
+    public Optional<Claims> obterClaimsValidas(String token) {
         try {
             Claims claims = obterClaims(token);
-            LocalDateTime dataHoraExpira = claims.getExpiration().toInstant()
-                    .atZone(ZoneId.systemDefault()).toLocalDateTime();
-
-            return !LocalDateTime.now().isAfter(dataHoraExpira);
-        } catch (ExpiredJwtException ex) {
-            return false;
+            if (claims.getExpiration() == null || claims.getExpiration().toInstant().isBefore(Instant.now())) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
         }
     }
 
@@ -63,4 +105,32 @@ public class JwtServiceImpl implements JwtService {
         Claims claims = obterClaims(token);
         return claims.getSubject();
     }
+
+    private static String resumo(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static class ExpiracaoDoToken implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String chave, Claims claims, long currentTime) {
+            long restante = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(restante, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String chave, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -1,30 +1,94 @@
 package com.marcotancredo.minhasfinancas.model.service.impl;
 
+import com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO;
+import com.marcotancredo.minhasfinancas.model.busca.CacheBuscaLancamentos;
+import com.marcotancredo.minhasfinancas.model.busca.IndiceTrigrama;
+import com.marcotancredo.minhasfinancas.model.busca.Trigramas;
 import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.LancamentoArquivado;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
 import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
-import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
 import com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException;
+import com.marcotancredo.minhasfinancas.model.repository.LancamentoArquivadoRepository;
 import com.marcotancredo.minhasfinancas.model.repository.LancamentoRepository;
+import com.marcotancredo.minhasfinancas.model.repository.ResumoArquivadoRepository;
+import com.marcotancredo.minhasfinancas.model.repository.SituacaoLancamento;
+import com.marcotancredo.minhasfinancas.model.service.ArquivamentoService;
+import com.marcotancredo.minhasfinancas.model.service.CuboLancamentosService;
 import com.marcotancredo.minhasfinancas.model.service.LancamentoService;
+import com.marcotancredo.minhasfinancas.model.service.SaldoUsuarioService;
+import com.marcotancredo.minhasfinancas.model.service.VersaoDadosUsuarioService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.springframework.data.domain.ExampleMatcher.StringMatcher.CONTAINING;
 
 @Service
+@Timed(value = "minhasfinancas.servico", description = "Tempo de execução dos métodos de serviço")
 public class LancamentoServiceImpl implements LancamentoService {
 
+    private static final int TAMANHO_MAXIMO_LOTE = 1000;
+
+    private static final Comparator<LancamentoDTO> ORDEM_DTO = Comparator.comparing(LancamentoDTO::getAno)
+            .thenComparing(LancamentoDTO::getMes).thenComparing(LancamentoDTO::getId);
+    private static final Comparator<Lancamento> ORDEM_LANCAMENTO = Comparator.comparing(Lancamento::getAno)
+            .thenComparing(Lancamento::getMes).thenComparing(Lancamento::getId);
+
     private final LancamentoRepository repository;
+    private final SaldoUsuarioService saldoUsuarioService;
+    private final IndiceTrigrama indiceTrigrama;
+    private final VersaoDadosUsuarioService versaoDadosUsuarioService;
+    private final LancamentoArquivadoRepository arquivadoRepository;
+    private final ResumoArquivadoRepository resumoArquivadoRepository;
+    private final ArquivamentoService arquivamentoService;
+    private final CuboLancamentosService cuboLancamentosService;
+    private final CacheBuscaLancamentos cacheBuscaLancamentos;
 
-    public LancamentoServiceImpl(LancamentoRepository repository) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public LancamentoServiceImpl(LancamentoRepository repository, SaldoUsuarioService saldoUsuarioService,
+                                 IndiceTrigrama indiceTrigrama, VersaoDadosUsuarioService versaoDadosUsuarioService,
+                                 LancamentoArquivadoRepository arquivadoRepository,
+                                 ResumoArquivadoRepository resumoArquivadoRepository,
+                                 ArquivamentoService arquivamentoService,
+                                 CuboLancamentosService cuboLancamentosService,
+                                 CacheBuscaLancamentos cacheBuscaLancamentos) {
         this.repository = repository;
+        this.saldoUsuarioService = saldoUsuarioService;
+        this.indiceTrigrama = indiceTrigrama;
+        this.versaoDadosUsuarioService = versaoDadosUsuarioService;
+        this.arquivadoRepository = arquivadoRepository;
+        this.resumoArquivadoRepository = resumoArquivadoRepository;
+        this.arquivamentoService = arquivamentoService;
+        this.cuboLancamentosService = cuboLancamentosService;
+        this.cacheBuscaLancamentos = cacheBuscaLancamentos;
     }
 
     @Override
@@ -32,7 +96,40 @@ public class LancamentoServiceImpl implements LancamentoService {
     public Lancamento salvar(Lancamento lancamento) {
         validar(lancamento);
         lancamento.setStatus(StatusLancamento.PENDENTE);
-        return repository.save(lancamento);
+        Lancamento lancamentoSalvo = repository.save(lancamento);
+        saldoUsuarioService.registrarAlteracao(null, lancamentoSalvo);
+        cuboLancamentosService.registrarAlteracao(null, lancamentoSalvo);
+        registrarAlteracaoDados(lancamentoSalvo);
+        return lancamentoSalvo;
+    }
+
+    @Override
+    @Transactional
+    public List<Lancamento> salvarEmLote(List<Lancamento> lancamentos) {
+        if (lancamentos == null || lancamentos.isEmpty()) {
+            throw new RegraNegocioException("Informe ao menos um lançamento");
+        }
+
+        if (lancamentos.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new RegraNegocioException("Informe no máximo " + TAMANHO_MAXIMO_LOTE + " lançamentos por lote");
+        }
+
+        // em ordem, para que o erro aponte sempre o primeiro lançamento inválido do lote
+        for (int indice = 0; indice < lancamentos.size(); indice++) {
+            try {
+                validar(lancamentos.get(indice));
+            } catch (RegraNegocioException ex) {
+                throw new RegraNegocioException("Lançamento " + (indice + 1) + ": " + ex.getMessage());
+            }
+        }
+
+        lancamentos.forEach(lancamento -> lancamento.setStatus(StatusLancamento.PENDENTE));
+        List<Lancamento> salvos = repository.saveAll(lancamentos);
+        salvos.forEach(salvo -> cuboLancamentosService.registrarAlteracao(null, salvo));
+        salvos.stream().map(Lancamento::getUsuario).filter(Objects::nonNull).map(Usuario::getId)
+                .filter(Objects::nonNull).distinct()
+                .forEach(versaoDadosUsuarioService::registrarAlteracao);
+        return salvos;
     }
 
     @Override
@@ -41,7 +138,67 @@ public class LancamentoServiceImpl implements LancamentoService {
         Objects.requireNonNull(lancamento.getId());
 
         validar(lancamento);
-        return repository.save(lancamento);
+        Lancamento anterior = repository.findById(lancamento.getId()).map(LancamentoServiceImpl::copiar).orElse(null);
+        if (lancamento.getVersao() == null && anterior != null) {
+            lancamento.setVersao(anterior.getVersao());
+        }
+        Lancamento lancamentoAtualizado = repository.save(lancamento);
+        saldoUsuarioService.registrarAlteracao(anterior, lancamentoAtualizado);
+        cuboLancamentosService.registrarAlteracao(anterior, lancamentoAtualizado);
+        registrarAlteracaoDados(anterior);
+        registrarAlteracaoDados(lancamentoAtualizado);
+        return lancamentoAtualizado;
+    }
+
+    @Override
+    @Transactional
+    public boolean atualizarParcialmente(Long id, Long versao, Lancamento alteracoes) {
+        Objects.requireNonNull(id);
+        validarAlteracoes(alteracoes);
+
+        Optional<SituacaoLancamento> situacao = repository.obterSituacao(id);
+        if (situacao.isEmpty()) {
+            return false;
+        }
+
+        SituacaoLancamento atual = situacao.get();
+        if (versao != null && !versao.equals(atual.getVersao())) {
+            throw new ObjectOptimisticLockingFailureException(Lancamento.class, id);
+        }
+
+        if (repository.atualizarCampos(id, atual.getVersao(), alteracoes) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Lancamento.class, id);
+        }
+        if (alteracoes.getDescricao() != null) {
+            indiceTrigrama.indexar(id, atual.getIdUsuario(), alteracoes.getDescricao());
+        }
+        versaoDadosUsuarioService.registrarAlteracao(atual.getIdUsuario());
+
+        if (alteracoes.getValor() == null && alteracoes.getTipo() == null && alteracoes.getStatus() == null
+                && alteracoes.getAno() == null && alteracoes.getMes() == null) {
+            return true;
+        }
+
+        Usuario usuario = Usuario.builder().id(atual.getIdUsuario()).build();
+        Lancamento anterior = Lancamento.builder()
+                .usuario(usuario)
+                .ano(atual.getAno())
+                .mes(atual.getMes())
+                .valor(atual.getValor())
+                .tipo(atual.getTipo())
+                .status(atual.getStatus())
+                .build();
+        Lancamento alterado = Lancamento.builder()
+                .usuario(usuario)
+                .ano(alteracoes.getAno() != null ? alteracoes.getAno() : atual.getAno())
+                .mes(alteracoes.getMes() != null ? alteracoes.getMes() : atual.getMes())
+                .valor(alteracoes.getValor() != null ? alteracoes.getValor() : atual.getValor())
+                .tipo(alteracoes.getTipo() != null ? alteracoes.getTipo() : atual.getTipo())
+                .status(alteracoes.getStatus() != null ? alteracoes.getStatus() : atual.getStatus())
+                .build();
+        saldoUsuarioService.registrarAlteracao(anterior, alterado);
+        cuboLancamentosService.registrarAlteracao(anterior, alterado);
+        return true;
     }
 
     @Override
@@ -49,7 +206,55 @@ public class LancamentoServiceImpl implements LancamentoService {
     public void deletar(Lancamento lancamento) {
         Objects.requireNonNull(lancamento.getId());
 
+        Lancamento anterior = repository.findById(lancamento.getId()).map(LancamentoServiceImpl::copiar).orElse(null);
         repository.delete(lancamento);
+        saldoUsuarioService.registrarAlteracao(anterior, null);
+        cuboLancamentosService.registrarAlteracao(anterior, null);
+        registrarAlteracaoDados(anterior != null ? anterior : lancamento);
+    }
+
+    @Override
+    @Transactional
+    public int atualizarStatusEmLote(Lancamento lancamentoFiltro, List<Long> ids, StatusLancamento status) {
+        Objects.requireNonNull(status);
+        Long idUsuario = Objects.requireNonNull(lancamentoFiltro.getUsuario().getId());
+
+        int atualizados = ids == null || ids.isEmpty()
+                ? repository.atualizarStatusPorFiltro(idUsuario, lancamentoFiltro.getAno(), lancamentoFiltro.getMes(),
+                        lancamentoFiltro.getTipo(), status)
+                : repository.atualizarStatusPorIds(idUsuario, ids, status);
+
+        if (atualizados > 0) {
+            saldoUsuarioService.reconstruir(idUsuario);
+            cuboLancamentosService.registrarAlteracao(idUsuario);
+            versaoDadosUsuarioService.registrarAlteracao(idUsuario);
+        }
+        return atualizados;
+    }
+
+    @Override
+    @Transactional
+    public int deletarEmLote(Lancamento lancamentoFiltro, List<Long> ids) {
+        Long idUsuario = Objects.requireNonNull(lancamentoFiltro.getUsuario().getId());
+
+        boolean semFiltro = lancamentoFiltro.getAno() == null && lancamentoFiltro.getMes() == null
+                && lancamentoFiltro.getTipo() == null;
+        if ((ids == null || ids.isEmpty()) && semFiltro) {
+            throw new RegraNegocioException("Informe ano, mês, tipo ou os ids dos lançamentos a excluir");
+        }
+
+        int excluidos = ids == null || ids.isEmpty()
+                ? repository.deletarPorFiltro(idUsuario, lancamentoFiltro.getAno(), lancamentoFiltro.getMes(),
+                        lancamentoFiltro.getTipo())
+                : repository.deletarPorIds(idUsuario, ids);
+
+        if (excluidos > 0) {
+            indiceTrigrama.removerOrfaos(idUsuario);
+            saldoUsuarioService.reconstruir(idUsuario);
+            cuboLancamentosService.registrarAlteracao(idUsuario);
+            versaoDadosUsuarioService.registrarAlteracao(idUsuario);
+        }
+        return excluidos;
     }
 
     @Override
@@ -63,6 +268,136 @@ public class LancamentoServiceImpl implements LancamentoService {
         return repository.findAll(example);
     }
 
+    // sem transação própria: um acerto no cache não usa conexão; quando falta, cada consulta abre a sua
+    @Override
+    public List<LancamentoDTO> listar(Lancamento lancamentoFiltro) {
+        Objects.requireNonNull(lancamentoFiltro.getUsuario().getId());
+
+        Long idUsuario = lancamentoFiltro.getUsuario().getId();
+        Integer ano = lancamentoFiltro.getAno();
+        Integer mes = lancamentoFiltro.getMes();
+        String descricao = padraoDescricao(lancamentoFiltro.getDescricao());
+        return cacheBuscaLancamentos.obter(idUsuario, ano, mes, descricao,
+                () -> listarComArquivo(idUsuario, ano, mes, descricao));
+    }
+
+    private List<LancamentoDTO> listarComArquivo(Long idUsuario, Integer ano, Integer mes, String descricao) {
+        List<LancamentoDTO> ativos = repository.listarPorFiltro(idUsuario, ano, mes, descricao);
+        if (!podeEstarArquivado(ano)) {
+            return ativos;
+        }
+        List<LancamentoDTO> arquivados = arquivadoRepository.listarPorFiltro(idUsuario, ano, mes, descricao);
+        return intercalar(arquivados, ativos, ORDEM_DTO);
+    }
+
+    private List<LancamentoDTO> listarPorIdsComArquivo(List<Long> ids) {
+        List<LancamentoDTO> lancamentos = new ArrayList<>(repository.listarPorIds(ids));
+        if (lancamentos.size() < ids.size()) {
+            Set<Long> encontrados = lancamentos.stream().map(LancamentoDTO::getId).collect(Collectors.toSet());
+            List<Long> restantes = ids.stream().filter(id -> !encontrados.contains(id)).toList();
+            lancamentos.addAll(arquivadoRepository.listarPorIds(restantes));
+        }
+        return lancamentos;
+    }
+
+    // um lançamento só vai para o arquivo quando o ano dele é anterior ao ano de corte, mas lançamentos novos
+    // em anos já arquivados ficam na tabela principal até a próxima execução do job
+    private boolean podeEstarArquivado(Integer ano) {
+        return ano == null || ano < arquivamentoService.obterAnoCorte();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LancamentoDTO> buscarPorDescricao(Long idUsuario, String termo, int limite) {
+        Objects.requireNonNull(idUsuario);
+        String termoNormalizado = Trigramas.normalizar(termo);
+        if (termoNormalizado.isEmpty()) {
+            throw new RegraNegocioException("Informe um termo de busca");
+        }
+
+        if (!indiceTrigrama.isAtivo()) {
+            List<Long> ids = repository.buscarIdsPorSimilaridade(idUsuario, padraoDescricao(termoNormalizado),
+                    termoNormalizado, limite);
+            Map<Long, LancamentoDTO> porId = ids.isEmpty() ? Map.of() : listarPorIdsComArquivo(ids).stream()
+                    .collect(Collectors.toMap(LancamentoDTO::getId, Function.identity()));
+            return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+        }
+
+        Set<String> trigramas = Trigramas.extrair(termoNormalizado);
+        List<LancamentoDTO> candidatos;
+        if (trigramas.isEmpty()) {
+            candidatos = listarComArquivo(idUsuario, null, null, padraoDescricao(termoNormalizado));
+        } else {
+            List<Long> ids = indiceTrigrama.buscarCandidatos(idUsuario, trigramas);
+            candidatos = ids.isEmpty() ? List.of() : listarPorIdsComArquivo(ids);
+        }
+
+        Map<Long, Double> relevancia = new HashMap<>();
+        for (LancamentoDTO candidato : candidatos) {
+            if (Trigramas.normalizar(candidato.getDescricao()).contains(termoNormalizado)) {
+                relevancia.put(candidato.getId(),
+                        Trigramas.similaridade(trigramas, Trigramas.extrair(candidato.getDescricao())));
+            }
+        }
+
+        return candidatos.stream()
+                .filter(dto -> relevancia.containsKey(dto.getId()))
+                .sorted(Comparator.comparing((LancamentoDTO dto) -> relevancia.get(dto.getId())).reversed()
+                        .thenComparing(LancamentoDTO::getId))
+                .limit(limite)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<LancamentoDTO> buscarPagina(Lancamento lancamentoFiltro, Lancamento posicao, int limite) {
+        Objects.requireNonNull(lancamentoFiltro.getUsuario().getId());
+
+        Long idUsuario = lancamentoFiltro.getUsuario().getId();
+        Integer ano = lancamentoFiltro.getAno();
+        Integer mes = lancamentoFiltro.getMes();
+        String descricao = padraoDescricao(lancamentoFiltro.getDescricao());
+        Pageable pagina = PageRequest.ofSize(limite);
+
+        Slice<LancamentoDTO> ativos = posicao == null
+                ? repository.buscarPrimeiraPagina(idUsuario, ano, mes, descricao, pagina)
+                : repository.buscarPaginaApos(idUsuario, ano, mes, descricao, posicao.getAno(), posicao.getMes(),
+                        posicao.getId(), pagina);
+        if (!podeEstarArquivado(ano)) {
+            return ativos;
+        }
+
+        Slice<LancamentoDTO> arquivados = posicao == null
+                ? arquivadoRepository.buscarPrimeiraPagina(idUsuario, ano, mes, descricao, pagina)
+                : arquivadoRepository.buscarPaginaApos(idUsuario, ano, mes, descricao, posicao.getAno(),
+                        posicao.getMes(), posicao.getId(), pagina);
+
+        // cada lado já traz os seus primeiros "limite" lançamentos após o cursor, então os primeiros da
+        // intercalação são os primeiros do conjunto
+        List<LancamentoDTO> lancamentos = intercalar(arquivados.getContent(), ativos.getContent(), ORDEM_DTO);
+        boolean haMais = lancamentos.size() > limite || ativos.hasNext() || arquivados.hasNext();
+        return new SliceImpl<>(lancamentos.subList(0, Math.min(limite, lancamentos.size())), pagina, haMais);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportar(Long idUsuario, Consumer<Lancamento> consumidor) {
+        try (Stream<Lancamento> ativos = repository.streamPorUsuario(idUsuario);
+             Stream<LancamentoArquivado> arquivados = arquivadoRepository.streamPorUsuario(idUsuario)) {
+            Iterator<Lancamento> desarquivados = arquivados.map(arquivado -> {
+                entityManager.detach(arquivado);
+                return desarquivar(arquivado);
+            }).iterator();
+
+            intercalar(desarquivados, ativos.iterator(), ORDEM_LANCAMENTO, lancamento -> {
+                consumidor.accept(lancamento);
+                if (entityManager.contains(lancamento)) {
+                    entityManager.detach(lancamento);
+                }
+            });
+        }
+    }
+
     @Override
     public void atualizarStatus(Lancamento lancamento, StatusLancamento status) {
         lancamento.setStatus(status);
@@ -71,28 +406,57 @@ public class LancamentoServiceImpl implements LancamentoService {
 
     @Override
     public void validar(Lancamento lancamento) {
-        if (lancamento.getDescricao() == null || lancamento.getDescricao().trim().isEmpty()) {
-            throw new RegraNegocioException("Informe um descrição válida");
+        validarDescricao(lancamento.getDescricao());
+        validarMes(lancamento.getMes());
+        validarAno(lancamento.getAno());
+
+        if (lancamento.getUsuario() == null || lancamento.getUsuario().getId() == null) {
+            throw new RegraNegocioException("Informe um usuário");
         }
 
-        if (lancamento.getMes() == null || lancamento.getMes() < 1 || lancamento.getMes() > 12) {
-            throw new RegraNegocioException("Informe um mês válido");
+        validarValor(lancamento.getValor());
+
+        if (lancamento.getTipo() == null) {
+            throw new RegraNegocioException("Informe um tipo de lançamento");
         }
+    }
 
-        if (lancamento.getAno() == null || lancamento.getAno().toString().length() != 4) {
-            throw new RegraNegocioException("Informe um ano válido");
+    private static void validarAlteracoes(Lancamento alteracoes) {
+        if (alteracoes.getDescricao() != null) {
+            validarDescricao(alteracoes.getDescricao());
+        }
+        if (alteracoes.getMes() != null) {
+            validarMes(alteracoes.getMes());
+        }
+        if (alteracoes.getAno() != null) {
+            validarAno(alteracoes.getAno());
+        }
+        if (alteracoes.getValor() != null) {
+            validarValor(alteracoes.getValor());
         }
+    }
 
-        if (lancamento.getUsuario() == null || lancamento.getUsuario().getId() == null) {
-            throw new RegraNegocioException("Informe um usuário");
+    private static void validarDescricao(String descricao) {
+        if (descricao == null || descricao.trim().isEmpty()) {
+            throw new RegraNegocioException("Informe um descrição válida");
         }
+    }
 
-        if (lancamento.getValor() == null || lancamento.getValor().compareTo(BigDecimal.ZERO) < 1) {
-            throw new RegraNegocioException("Informe um valor válido");
+    private static void validarMes(Integer mes) {
+        if (mes == null || mes < 1 || mes > 12) {
+            throw new RegraNegocioException("Informe um mês válido");
+        }
+    }
+
+    private static void validarAno(Integer ano) {
+        if (ano == null || ano < 1000 || ano > 9999) {
+            throw new RegraNegocioException("Informe um ano válido");
         }
+    }
 
-        if (lancamento.getTipo() == null) {
-            throw new RegraNegocioException("Informe um tipo de lançamento");
+    private static void validarValor(BigDecimal valor) {
+        if (valor == null || valor.compareTo(BigDecimal.ZERO) < 1) {
+            throw new RegraNegocioException("Informe um valor válido");
         }
     }
 
@@ -101,20 +465,91 @@ public class LancamentoServiceImpl implements LancamentoService {
         return repository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LancamentoDTO> obterDTOPorId(Long id) {
+        return repository.obterDTOPorId(id).or(() -> arquivadoRepository.obterDTOPorId(id));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public BigDecimal obterSaldoPorUsuarioEStatus(Long id) {
-        BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus(id, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
-        BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus(id, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
+        return saldoUsuarioService.obterSaldo(id);
+    }
+
+    private static Lancamento copiar(Lancamento lancamento) {
+        return Lancamento.builder()
+                .id(lancamento.getId())
+                .descricao(lancamento.getDescricao())
+                .mes(lancamento.getMes())
+                .ano(lancamento.getAno())
+                .usuario(lancamento.getUsuario())
+                .valor(lancamento.getValor())
+                .dataCadastro(lancamento.getDataCadastro())
+                .tipo(lancamento.getTipo())
+                .status(lancamento.getStatus())
+                .versao(lancamento.getVersao())
+                .build();
+    }
+
+    private static Lancamento desarquivar(LancamentoArquivado arquivado) {
+        return Lancamento.builder()
+                .id(arquivado.getId())
+                .descricao(arquivado.getDescricao())
+                .mes(arquivado.getMes())
+                .ano(arquivado.getAno())
+                .usuario(Usuario.builder().id(arquivado.getIdUsuario()).build())
+                .valor(arquivado.getValor())
+                .dataCadastro(arquivado.getDataCadastro())
+                .tipo(arquivado.getTipo())
+                .status(arquivado.getStatus())
+                .versao(arquivado.getVersao())
+                .build();
+    }
 
-        if (receitas == null) {
-            receitas = BigDecimal.ZERO;
+    // junta duas sequências já ordenadas pelo mesmo critério
+    private static <T> List<T> intercalar(List<T> primeira, List<T> segunda, Comparator<T> ordem) {
+        if (primeira.isEmpty()) {
+            return segunda;
         }
+        if (segunda.isEmpty()) {
+            return primeira;
+        }
+        List<T> resultado = new ArrayList<>(primeira.size() + segunda.size());
+        intercalar(primeira.iterator(), segunda.iterator(), ordem, resultado::add);
+        return resultado;
+    }
 
-        if (despesas == null) {
-            despesas = BigDecimal.ZERO;
+    private static <T> void intercalar(Iterator<T> primeira, Iterator<T> segunda, Comparator<T> ordem,
+                                       Consumer<T> consumidor) {
+        T atualPrimeira = primeira.hasNext() ? primeira.next() : null;
+        T atualSegunda = segunda.hasNext() ? segunda.next() : null;
+        while (atualPrimeira != null || atualSegunda != null) {
+            if (atualSegunda == null || (atualPrimeira != null && ordem.compare(atualPrimeira, atualSegunda) <= 0)) {
+                consumidor.accept(atualPrimeira);
+                atualPrimeira = primeira.hasNext() ? primeira.next() : null;
+            } else {
+                consumidor.accept(atualSegunda);
+                atualSegunda = segunda.hasNext() ? segunda.next() : null;
+            }
         }
+    }
 
-        return receitas.subtract(despesas);
+    private void registrarAlteracaoDados(Lancamento lancamento) {
+        if (lancamento != null && lancamento.getUsuario() != null) {
+            versaoDadosUsuarioService.registrarAlteracao(lancamento.getUsuario().getId());
+        }
+    }
+
+    // % e _ digitados pelo usuário são literais; as consultas declaram '!' como caractere de escape
+    private static String padraoDescricao(String descricao) {
+        if (descricao == null || descricao.isBlank()) {
+            return "%";
+        }
+        String termo = descricao.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + termo + "%";
     }
 }
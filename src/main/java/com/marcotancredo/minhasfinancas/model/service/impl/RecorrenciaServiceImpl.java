@@ -0,0 +1,192 @@
+package com.marcotancredo.minhasfinancas.model.service.impl;
+
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.Recorrencia;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException;
+import com.marcotancredo.minhasfinancas.model.repository.LancamentoRepository;
+import com.marcotancredo.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.marcotancredo.minhasfinancas.model.service.CuboLancamentosService;
+import com.marcotancredo.minhasfinancas.model.service.LancamentoService;
+import com.marcotancredo.minhasfinancas.model.service.RecorrenciaService;
+import com.marcotancredo.minhasfinancas.model.service.VersaoDadosUsuarioService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class RecorrenciaServiceImpl implements RecorrenciaService {
+
+    private static final int QUANTIDADE_MAXIMA = 600;
+    private static final int TAMANHO_DESCRICAO = 100;
+
+    private final RecorrenciaRepository repository;
+    private final LancamentoRepository lancamentoRepository;
+    private final LancamentoService lancamentoService;
+    private final VersaoDadosUsuarioService versaoDadosUsuarioService;
+    private final CuboLancamentosService cuboLancamentosService;
+    private final int horizonteMeses;
+
+    public RecorrenciaServiceImpl(RecorrenciaRepository repository, LancamentoRepository lancamentoRepository,
+                                  LancamentoService lancamentoService,
+                                  VersaoDadosUsuarioService versaoDadosUsuarioService,
+                                  CuboLancamentosService cuboLancamentosService,
+                                  @Value("${minhasfinancas.recorrencia.horizonte-meses:12}") int horizonteMeses) {
+        this.repository = repository;
+        this.lancamentoRepository = lancamentoRepository;
+        this.lancamentoService = lancamentoService;
+        this.versaoDadosUsuarioService = versaoDadosUsuarioService;
+        this.cuboLancamentosService = cuboLancamentosService;
+        this.horizonteMeses = Math.max(horizonteMeses, 0);
+    }
+
+    @Override
+    @Transactional
+    public Recorrencia criar(Recorrencia recorrencia) {
+        validar(recorrencia);
+
+        recorrencia.setParcelasGeradas(0);
+        recorrencia.setCompetenciaProxima(competencia(recorrencia.getAnoInicio(), recorrencia.getMesInicio()));
+        recorrencia.setDataCadastro(LocalDate.now());
+        Recorrencia salva = repository.save(recorrencia);
+        gerar(salva);
+        return salva;
+    }
+
+    @Override
+    @Transactional
+    public int gerar(Long idRecorrencia) {
+        return repository.obterParaGeracao(idRecorrencia).map(this::gerar).orElse(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> listarParaEstender() {
+        return repository.listarParaEstender(competenciaLimite());
+    }
+
+    private int gerar(Recorrencia recorrencia) {
+        int primeira = recorrencia.getParcelasGeradas() + 1;
+        int ultima = ultimaParcelaNoHorizonte(recorrencia);
+        if (ultima < primeira) {
+            return 0;
+        }
+
+        // a contagem de parcelas geradas é a fonte da idempotência; o índice único
+        // (id_recorrencia, parcela) impede duplicatas se ela divergir dos lançamentos
+        List<Lancamento> ocorrencias = new ArrayList<>(ultima - primeira + 1);
+        for (int parcela = primeira; parcela <= ultima; parcela++) {
+            ocorrencias.add(ocorrencia(recorrencia, parcela));
+        }
+        lancamentoRepository.saveAll(ocorrencias);
+        ocorrencias.forEach(ocorrencia -> cuboLancamentosService.registrarAlteracao(null, ocorrencia));
+
+        recorrencia.setParcelasGeradas(ultima);
+        boolean encerrada = recorrencia.getQuantidade() != null && ultima >= recorrencia.getQuantidade();
+        recorrencia.setCompetenciaProxima(encerrada ? null : competencia(recorrencia, ultima + 1));
+        versaoDadosUsuarioService.registrarAlteracao(recorrencia.getUsuario().getId());
+        return ocorrencias.size();
+    }
+
+    // parceladas são geradas por inteiro; recorrências vão até o mês atual mais o horizonte
+    private int ultimaParcelaNoHorizonte(Recorrencia recorrencia) {
+        if (recorrencia.isParcelado()) {
+            return recorrencia.getQuantidade();
+        }
+
+        int inicio = competencia(recorrencia.getAnoInicio(), recorrencia.getMesInicio());
+        int limite = competenciaLimite();
+        int ultima = limite < inicio ? 0 : (limite - inicio) / recorrencia.getPeriodicidade().getMeses() + 1;
+        return recorrencia.getQuantidade() == null ? ultima : Math.min(ultima, recorrencia.getQuantidade());
+    }
+
+    private void validar(Recorrencia recorrencia) {
+        if (recorrencia.getPeriodicidade() == null) {
+            throw new RegraNegocioException("Informe a periodicidade");
+        }
+
+        if (recorrencia.getMesInicio() == null || recorrencia.getMesInicio() < 1 || recorrencia.getMesInicio() > 12) {
+            throw new RegraNegocioException("Informe um mês válido");
+        }
+
+        if (recorrencia.getAnoInicio() == null) {
+            throw new RegraNegocioException("Informe um ano válido");
+        }
+
+        Integer quantidade = recorrencia.getQuantidade();
+        if (recorrencia.isParcelado() && quantidade == null) {
+            throw new RegraNegocioException("Informe a quantidade de parcelas");
+        }
+
+        if (quantidade != null && (quantidade < 1 || quantidade > QUANTIDADE_MAXIMA)) {
+            throw new RegraNegocioException("Informe uma quantidade entre 1 e " + QUANTIDADE_MAXIMA);
+        }
+
+        // mesmas regras de um lançamento avulso, aplicadas à primeira e à última ocorrência
+        lancamentoService.validar(ocorrencia(recorrencia, 1));
+        if (quantidade != null) {
+            lancamentoService.validar(ocorrencia(recorrencia, quantidade));
+        }
+    }
+
+    private Lancamento ocorrencia(Recorrencia recorrencia, int parcela) {
+        int competencia = competencia(recorrencia, parcela);
+        return Lancamento.builder()
+                .descricao(descricao(recorrencia, parcela))
+                .mes(competencia % 12 + 1)
+                .ano(competencia / 12)
+                .usuario(recorrencia.getUsuario())
+                .valor(valor(recorrencia, parcela))
+                .tipo(recorrencia.getTipo())
+                .status(StatusLancamento.PENDENTE)
+                .dataCadastro(LocalDate.now())
+                .idRecorrencia(recorrencia.getId())
+                .parcela(parcela)
+                .build();
+    }
+
+    private static String descricao(Recorrencia recorrencia, int parcela) {
+        String descricao = recorrencia.getDescricao();
+        if (descricao == null || !recorrencia.isParcelado()) {
+            return descricao;
+        }
+
+        String sufixo = " (" + parcela + "/" + recorrencia.getQuantidade() + ")";
+        return descricao.substring(0, Math.min(descricao.length(), TAMANHO_DESCRICAO - sufixo.length())) + sufixo;
+    }
+
+    // no parcelamento o total é dividido em centavos e a sobra fica na primeira parcela
+    private static BigDecimal valor(Recorrencia recorrencia, int parcela) {
+        BigDecimal valor = recorrencia.getValor();
+        if (valor == null || !recorrencia.isParcelado()) {
+            return valor;
+        }
+
+        long centavos = valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        long quantidade = recorrencia.getQuantidade();
+        long valorParcela = centavos / quantidade + (parcela == 1 ? centavos % quantidade : 0);
+        return BigDecimal.valueOf(valorParcela, 2);
+    }
+
+    private int competenciaLimite() {
+        YearMonth atual = YearMonth.now();
+        return competencia(atual.getYear(), atual.getMonthValue()) + horizonteMeses;
+    }
+
+    private static int competencia(Recorrencia recorrencia, int parcela) {
+        return competencia(recorrencia.getAnoInicio(), recorrencia.getMesInicio())
+                + (parcela - 1) * recorrencia.getPeriodicidade().getMeses();
+    }
+
+    // meses desde o ano zero, para comparar e somar períodos sem tratar a virada do ano
+    private static int competencia(Integer ano, Integer mes) {
+        return ano * 12 + mes - 1;
+    }
+}
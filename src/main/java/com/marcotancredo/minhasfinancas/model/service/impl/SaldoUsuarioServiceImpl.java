@@ -0,0 +1,113 @@
+package com.marcotancredo.minhasfinancas.model.service.impl;
+
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.SaldoUsuario;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import com.marcotancredo.minhasfinancas.model.repository.ResumoArquivadoRepository;
+import com.marcotancredo.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.marcotancredo.minhasfinancas.model.repository.UsuarioRepository;
+import com.marcotancredo.minhasfinancas.model.service.SaldoUsuarioService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class SaldoUsuarioServiceImpl implements SaldoUsuarioService {
+
+    private final SaldoUsuarioRepository repository;
+    private final ResumoArquivadoRepository resumoArquivadoRepository;
+    private final UsuarioRepository usuarioRepository;
+
+    public SaldoUsuarioServiceImpl(SaldoUsuarioRepository repository,
+                                   ResumoArquivadoRepository resumoArquivadoRepository,
+                                   UsuarioRepository usuarioRepository) {
+        this.repository = repository;
+        this.resumoArquivadoRepository = resumoArquivadoRepository;
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    @Override
+    @Transactional
+    public void criar(Long idUsuario) {
+        repository.save(SaldoUsuario.builder().idUsuario(idUsuario).saldo(BigDecimal.ZERO).build());
+    }
+
+    @Override
+    @Transactional
+    public void registrarAlteracao(Lancamento anterior, Lancamento atual) {
+        Map<Long, BigDecimal> variacoes = new LinkedHashMap<>();
+        acumularVariacao(variacoes, anterior, true);
+        acumularVariacao(variacoes, atual, false);
+
+        variacoes.forEach((idUsuario, valor) -> {
+            if (valor.signum() == 0) {
+                return;
+            }
+            if (repository.acumular(idUsuario, valor) == 0) {
+                criarSeAusente(idUsuario);
+                repository.acumular(idUsuario, valor);
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal obterSaldo(Long idUsuario) {
+        return repository.findById(idUsuario)
+                .map(SaldoUsuario::getSaldo)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    @Override
+    @Transactional
+    public void reconstruir() {
+        repository.deleteAllInBatch();
+        repository.reconstruir(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+        somarArquivados(resumoArquivadoRepository.obterSaldos(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO));
+    }
+
+    @Override
+    @Transactional
+    public void reconstruir(Long idUsuario) {
+        if (repository.reconstruirPorUsuario(idUsuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO) == 0) {
+            criarSeAusente(idUsuario);
+            repository.reconstruirPorUsuario(idUsuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+        }
+        somarArquivados(resumoArquivadoRepository.obterSaldosPorUsuario(idUsuario, TipoLancamento.RECEITA,
+                StatusLancamento.EFETIVADO));
+    }
+
+    // os lançamentos arquivados entram no saldo pelos totais de financas.resumo_arquivado
+    private void somarArquivados(List<SaldoUsuario> saldosArquivados) {
+        for (SaldoUsuario saldoArquivado : saldosArquivados) {
+            repository.acumular(saldoArquivado.getIdUsuario(), saldoArquivado.getSaldo());
+        }
+    }
+
+    // a linha nasce junto com o usuário; este caminho cobre usuários anteriores a ela. A trava no
+    // usuário serializa duas primeiras escritas concorrentes, e a segunda já enxerga a linha criada
+    private void criarSeAusente(Long idUsuario) {
+        usuarioRepository.obterParaAtualizacao(idUsuario);
+        if (!repository.existsById(idUsuario)) {
+            repository.saveAndFlush(SaldoUsuario.builder().idUsuario(idUsuario).saldo(BigDecimal.ZERO).build());
+        }
+    }
+
+    private static void acumularVariacao(Map<Long, BigDecimal> variacoes, Lancamento lancamento, boolean estorno) {
+        if (lancamento == null || lancamento.getUsuario() == null || lancamento.getUsuario().getId() == null
+                || lancamento.getValor() == null || lancamento.getStatus() != StatusLancamento.EFETIVADO) {
+            return;
+        }
+
+        BigDecimal valor = lancamento.getTipo() == TipoLancamento.DESPESA
+                ? lancamento.getValor().negate()
+                : lancamento.getValor();
+
+        variacoes.merge(lancamento.getUsuario().getId(), estorno ? valor.negate() : valor, BigDecimal::add);
+    }
+}
@@ -2,18 +2,35 @@ package com.marcotancredo.minhasfinancas.model.service.impl;
 
 import com.marcotancredo.minhasfinancas.model.entity.Usuario;
 import com.marcotancredo.minhasfinancas.model.repository.UsuarioRepository;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 public class SecurityUserDetailsService implements UserDetailsService {
+
+    public static final String PAPEL_USUARIO = "USER";
+    public static final String PAPEL_MONITORAMENTO = "MONITORAMENTO";
+
     private final UsuarioRepository repository;
+    private final Set<String> emailsMonitoramento;
 
-    public SecurityUserDetailsService(UsuarioRepository repository) {
+    public SecurityUserDetailsService(UsuarioRepository repository,
+                                      @Value("${minhasfinancas.monitoramento.emails:}") List<String> emailsMonitoramento) {
         this.repository = repository;
+        this.emailsMonitoramento = emailsMonitoramento.stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
     }
 
     @Override
@@ -21,10 +38,19 @@ public class SecurityUserDetailsService implements UserDetailsService {
         Usuario usuario = repository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Email não cadastrado!"));
 
-        return User.builder()
-                .username(usuario.getEmail())
-                .password(usuario.getSenha())
-                .roles("USER")
-                .build();
+        return criarPrincipal(usuario.getId(), usuario.getEmail(), usuario.getSenha());
+    }
+
+    public UsuarioAutenticado criarPrincipal(Long id, String email, String senha) {
+        String[] papeis = Arrays.stream(obterPapeis(email)).map(papel -> "ROLE_" + papel).toArray(String[]::new);
+        return new UsuarioAutenticado(id, email, senha, AuthorityUtils.createAuthorityList(papeis));
+    }
+
+    // o acesso às métricas é concedido por configuração, não pelo cadastro aberto de usuários
+    public String[] obterPapeis(String email) {
+        if (email != null && emailsMonitoramento.contains(email.toLowerCase(Locale.ROOT))) {
+            return new String[]{PAPEL_USUARIO, PAPEL_MONITORAMENTO};
+        }
+        return new String[]{PAPEL_USUARIO};
     }
 }
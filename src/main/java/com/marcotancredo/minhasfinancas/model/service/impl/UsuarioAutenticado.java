@@ -0,0 +1,21 @@
+package com.marcotancredo.minhasfinancas.model.service.impl;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+// principal das requisições autenticadas: leva o id do usuário para que não seja preciso consultá-lo pelo e-mail
+public class UsuarioAutenticado extends User {
+
+    private final Long id;
+
+    public UsuarioAutenticado(Long id, String email, String senha, Collection<? extends GrantedAuthority> authorities) {
+        super(email, senha, authorities);
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
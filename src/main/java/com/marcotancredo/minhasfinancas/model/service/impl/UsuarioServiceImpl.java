@@ -4,22 +4,32 @@ import com.marcotancredo.minhasfinancas.model.entity.Usuario;
 import com.marcotancredo.minhasfinancas.model.exception.ErroAutenticacao;
 import com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException;
 import com.marcotancredo.minhasfinancas.model.repository.UsuarioRepository;
+import com.marcotancredo.minhasfinancas.model.service.SaldoUsuarioService;
 import com.marcotancredo.minhasfinancas.model.service.UsuarioService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 
 @Service
+@Timed(value = "minhasfinancas.servico", description = "Tempo de execução dos métodos de serviço")
 public class UsuarioServiceImpl implements UsuarioService {
 
     private final UsuarioRepository repository;
     private final PasswordEncoder encoder;
+    private final SaldoUsuarioService saldoUsuarioService;
+    private final TransactionTemplate transactionTemplate;
 
-    public UsuarioServiceImpl(UsuarioRepository usuarioRepository, PasswordEncoder encoder) {
+    public UsuarioServiceImpl(UsuarioRepository usuarioRepository, PasswordEncoder encoder,
+                              SaldoUsuarioService saldoUsuarioService,
+                              PlatformTransactionManager transactionManager) {
         this.repository = usuarioRepository;
         this.encoder = encoder;
+        this.saldoUsuarioService = saldoUsuarioService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -40,11 +50,15 @@ public class UsuarioServiceImpl implements UsuarioService {
     }
 
     @Override
-    @Transactional
     public Usuario salvarUsuario(Usuario usuario) {
         validarEmail(usuario.getEmail());
+        // o hash roda antes da transação: a espera pelo pool de senhas não segura uma conexão do banco
         criptografarSenha(usuario);
-        return repository.save(usuario);
+        return transactionTemplate.execute(status -> {
+            Usuario usuarioSalvo = repository.save(usuario);
+            saldoUsuarioService.criar(usuarioSalvo.getId());
+            return usuarioSalvo;
+        });
     }
 
     @Override
@@ -0,0 +1,54 @@
+package com.marcotancredo.minhasfinancas.model.service.impl;
+
+import com.marcotancredo.minhasfinancas.model.service.VersaoDadosUsuarioService;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class VersaoDadosUsuarioServiceImpl implements VersaoDadosUsuarioService {
+
+    // as versões ficam em memória, o instante de inicialização evita repetir uma ETag emitida antes de um restart
+    private final String inicializacao = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Long, AtomicLong> versoes = new ConcurrentHashMap<>();
+
+    @Override
+    public String obterEtag(Long idUsuario, MediaType representacao) {
+        // cada formato é uma representação diferente e não pode compartilhar a ETag forte
+        return "\"" + inicializacao + "-" + idUsuario + "-" + obterVersao(idUsuario) + "-"
+                + representacao.getSubtype() + "\"";
+    }
+
+    @Override
+    public long obterVersao(Long idUsuario) {
+        AtomicLong versao = versoes.get(idUsuario);
+        return versao == null ? 0 : versao.get();
+    }
+
+    @Override
+    public void registrarAlteracao(Long idUsuario) {
+        if (idUsuario == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incrementar(idUsuario);
+            return;
+        }
+        // só depois do commit: uma leitura concorrente nunca recebe a ETag nova junto com os dados antigos
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                incrementar(idUsuario);
+            }
+        });
+    }
+
+    private void incrementar(Long idUsuario) {
+        versoes.computeIfAbsent(idUsuario, id -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,45 @@
+create table if not exists financas.usuario (
+    id bigint generated by default as identity primary key,
+    nome varchar(150),
+    email varchar(100),
+    senha varchar(255)
+);
+
+create sequence if not exists financas.lancamento_id_seq start with 1 increment by 50;
+alter sequence if exists financas.lancamento_id_seq increment by 50;
+
+create table if not exists financas.lancamento (
+    id bigint primary key,
+    descricao varchar(100) not null,
+    mes integer not null,
+    ano integer not null,
+    valor numeric(16, 2) not null,
+    tipo varchar(20) check (tipo in ('RECEITA', 'DESPESA')),
+    status varchar(20) check (status in ('PENDENTE', 'CANCELADO', 'EFETIVADO')),
+    id_usuario bigint references financas.usuario (id),
+    data_cadastro date default current_date,
+    versao bigint default 0 not null
+);
+
+alter table financas.lancamento add column if not exists versao bigint default 0 not null;
+
+create table if not exists financas.saldo_usuario (
+    id_usuario bigint primary key,
+    saldo numeric(16, 2) default 0 not null
+);
+
+insert into financas.saldo_usuario (id_usuario, saldo)
+select l.id_usuario, sum(case when l.tipo = 'RECEITA' then l.valor else -l.valor end)
+from financas.lancamento l
+where l.status = 'EFETIVADO'
+  and not exists (select 1 from financas.saldo_usuario s where s.id_usuario = l.id_usuario)
+group by l.id_usuario;
+
+-- buscar, paginação por cursor, totais por mês e exportação: filtram por usuário e ordenam por ano, mes
+create index if not exists lancamento_usuario_periodo_idx on financas.lancamento (id_usuario, ano, mes);
+
+-- saldo por tipo e status: valor no fim do índice evita a leitura da tabela
+create index if not exists lancamento_usuario_tipo_status_idx on financas.lancamento (id_usuario, tipo, status, valor);
+
+-- findByEmail / existsByEmail
+create unique index if not exists usuario_email_uk on financas.usuario (email);
@@ -0,0 +1,29 @@
+-- lançamentos de anos fechados, movidos pelo job de arquivamento; mesmas colunas de financas.lancamento
+create table if not exists financas.lancamento_arquivo (
+    id bigint primary key,
+    descricao varchar(100) not null,
+    mes integer not null,
+    ano integer not null,
+    valor numeric(16, 2) not null,
+    tipo varchar(20),
+    status varchar(20),
+    id_usuario bigint references financas.usuario (id),
+    data_cadastro date,
+    versao bigint not null
+);
+
+create index if not exists lancamento_arquivo_usuario_periodo_idx on financas.lancamento_arquivo (id_usuario, ano, mes);
+
+-- totais dos lançamentos arquivados por usuário, ano, mês, tipo e status
+create table if not exists financas.resumo_arquivado (
+    id bigint generated by default as identity primary key,
+    id_usuario bigint not null,
+    ano integer not null,
+    mes integer not null,
+    tipo varchar(20),
+    status varchar(20),
+    quantidade bigint not null,
+    total numeric(18, 2) not null
+);
+
+create unique index if not exists resumo_arquivado_uk on financas.resumo_arquivado (id_usuario, ano, mes, tipo, status);
@@ -0,0 +1,27 @@
+-- lançamentos recorrentes ("aluguel, mensal, 24 vezes") e parcelados ("compra em 12 parcelas");
+-- as ocorrências são materializadas em financas.lancamento até o horizonte configurado
+create table if not exists financas.recorrencia (
+    id bigint generated by default as identity primary key,
+    id_usuario bigint not null references financas.usuario (id),
+    descricao varchar(100) not null,
+    valor numeric(16, 2) not null,
+    tipo varchar(20) check (tipo in ('RECEITA', 'DESPESA')),
+    periodicidade varchar(20) not null,
+    mes_inicio integer not null,
+    ano_inicio integer not null,
+    quantidade integer,
+    parcelado boolean default false not null,
+    parcelas_geradas integer default 0 not null,
+    competencia_proxima integer,
+    data_cadastro date default current_date,
+    versao bigint default 0 not null
+);
+
+-- job de extensão do horizonte: competência (ano * 12 + mês - 1) da próxima ocorrência a gerar, nula quando encerrada
+create index if not exists recorrencia_competencia_proxima_idx on financas.recorrencia (competencia_proxima);
+
+alter table financas.lancamento add column if not exists id_recorrencia bigint references financas.recorrencia (id);
+alter table financas.lancamento add column if not exists parcela integer;
+
+-- cada ocorrência é gerada uma única vez, mesmo que o gerador rode de novo
+create unique index if not exists lancamento_recorrencia_parcela_uk on financas.lancamento (id_recorrencia, parcela);
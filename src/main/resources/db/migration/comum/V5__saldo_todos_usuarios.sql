@@ -0,0 +1,5 @@
+-- toda escrita passa a acumular sobre uma linha existente: cria a linha zerada para quem ainda não tem
+insert into financas.saldo_usuario (id_usuario, saldo)
+select u.id, 0
+from financas.usuario u
+where not exists (select 1 from financas.saldo_usuario s where s.id_usuario = u.id);
@@ -0,0 +1,9 @@
+-- o H2 não tem índice de trigramas, a aplicação mantém os trigramas de cada descrição nesta tabela
+create table if not exists financas.lancamento_trigrama (
+    id_usuario bigint not null,
+    trigrama varchar(3) not null,
+    id_lancamento bigint not null,
+    primary key (id_usuario, trigrama, id_lancamento)
+);
+
+create index if not exists lancamento_trigrama_lancamento_idx on financas.lancamento_trigrama (id_lancamento);
@@ -0,0 +1,4 @@
+create extension if not exists pg_trgm;
+
+-- busca por trecho da descrição: o índice GIN de trigramas atende lower(descricao) like '%termo%'
+create index if not exists lancamento_descricao_trgm_idx on financas.lancamento using gin (lower(descricao) gin_trgm_ops);
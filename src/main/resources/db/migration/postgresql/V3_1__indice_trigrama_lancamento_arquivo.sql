@@ -0,0 +1,2 @@
+-- a busca por descrição também percorre os lançamentos arquivados
+create index if not exists lancamento_arquivo_descricao_trgm_idx on financas.lancamento_arquivo using gin (lower(descricao) gin_trgm_ops);
@@ -0,0 +1,85 @@
+package com.marcotancredo.minhasfinancas.api;
+
+import com.marcotancredo.minhasfinancas.model.service.JwtService;
+import com.marcotancredo.minhasfinancas.model.service.impl.SecurityUserDetailsService;
+import com.marcotancredo.minhasfinancas.model.service.impl.UsuarioAutenticado;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+public class JwtTokenFilterTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    JwtService jwtService = Mockito.mock(JwtService.class);
+    JwtTokenFilter filter = new JwtTokenFilter(jwtService, new SecurityUserDetailsService(null, List.of()),
+            false, meterRegistry);
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void deveMedirAVerificacaoDeUmTokenValido() throws Exception {
+        Claims claims = Jwts.claims().setSubject("usuario@email.com");
+        when(jwtService.obterClaimsValidas("valido")).thenReturn(Optional.of(claims));
+
+        filter.doFilter(requisicao("Bearer valido"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        assertThat(meterRegistry.get("minhasfinancas.jwt.verificacao").tag("resultado", "valido").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("minhasfinancas.jwt.rejeicoes").tag("motivo", "invalido").counter().count())
+                .isZero();
+    }
+
+    @Test
+    public void deveMontarOPrincipalComOIdDoToken() throws Exception {
+        Claims claims = Jwts.claims().setSubject("usuario@email.com");
+        claims.put("userId", 7);
+        when(jwtService.obterClaimsValidas("valido")).thenReturn(Optional.of(claims));
+
+        filter.doFilter(requisicao("Bearer valido"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .isInstanceOfSatisfying(UsuarioAutenticado.class, principal -> {
+                    assertThat(principal.getId()).isEqualTo(7L);
+                    assertThat(principal.getUsername()).isEqualTo("usuario@email.com");
+                });
+    }
+
+    @Test
+    public void deveContarOsTokensRecusados() throws Exception {
+        when(jwtService.obterClaimsValidas("expirado")).thenReturn(Optional.empty());
+
+        filter.doFilter(requisicao("Bearer expirado"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(requisicao("Bearer"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(meterRegistry.get("minhasfinancas.jwt.verificacao").tag("resultado", "invalido").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("minhasfinancas.jwt.rejeicoes").tag("motivo", "invalido").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("minhasfinancas.jwt.rejeicoes").tag("motivo", "malformado").counter().count())
+                .isEqualTo(1);
+    }
+
+    private MockHttpServletRequest requisicao(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/lancamentos");
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+}
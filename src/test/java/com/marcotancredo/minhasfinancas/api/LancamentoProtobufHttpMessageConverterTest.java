@@ -0,0 +1,95 @@
+package com.marcotancredo.minhasfinancas.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.CodedInputStream;
+import com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LancamentoProtobufHttpMessageConverterTest {
+
+    LancamentoProtobufHttpMessageConverter converter = new LancamentoProtobufHttpMessageConverter();
+
+    @Test
+    public void deveEscreverUmLancamentoNoFormatoProtobuf() throws Exception {
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+
+        converter.write(criarLancamento(7L), LancamentoProtobufHttpMessageConverter.APPLICATION_PROTOBUF, saida);
+
+        CodedInputStream entrada = CodedInputStream.newInstance(saida.getBodyAsBytes());
+        assertThat(entrada.readTag() >>> 3).isEqualTo(1);
+        assertThat(entrada.readInt64()).isEqualTo(7L);
+        assertThat(entrada.readTag() >>> 3).isEqualTo(2);
+        assertThat(entrada.readString()).isEqualTo("Conta de luz");
+        assertThat(entrada.readTag() >>> 3).isEqualTo(3);
+        assertThat(entrada.readInt32()).isEqualTo(3);
+        assertThat(entrada.readTag() >>> 3).isEqualTo(4);
+        assertThat(entrada.readInt32()).isEqualTo(2019);
+
+        assertThat(entrada.readTag() >>> 3).isEqualTo(5);
+        int limite = entrada.pushLimit(entrada.readRawVarint32());
+        entrada.readTag();
+        long valorSemEscala = entrada.readSInt64();
+        entrada.readTag();
+        int escala = entrada.readInt32();
+        entrada.popLimit(limite);
+        assertThat(BigDecimal.valueOf(valorSemEscala, escala)).isEqualByComparingTo("150.25");
+
+        assertThat(entrada.readTag() >>> 3).isEqualTo(6);
+        assertThat(entrada.readInt64()).isEqualTo(1L);
+        assertThat(entrada.readTag() >>> 3).isEqualTo(7);
+        assertThat(entrada.readEnum()).isEqualTo(2);
+        assertThat(entrada.readTag() >>> 3).isEqualTo(8);
+        assertThat(entrada.readEnum()).isEqualTo(1);
+        assertThat(entrada.readTag() >>> 3).isEqualTo(9);
+        assertThat(entrada.readInt64()).isZero();
+        assertThat(entrada.isAtEnd()).isTrue();
+    }
+
+    @Test
+    public void deveGerarUmaListaMenorQueOJson() throws Exception {
+        List<LancamentoDTO> lancamentos = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            lancamentos.add(criarLancamento(id));
+        }
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+
+        converter.write(lancamentos, LancamentoProtobufHttpMessageConverter.APPLICATION_PROTOBUF, saida);
+
+        byte[] json = new ObjectMapper().writeValueAsBytes(lancamentos);
+        assertThat(saida.getBodyAsBytes().length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    public void naoDeveEscreverListasQueNaoSejamDeLancamentos() {
+        assertThat(converter.canWrite(ArrayList.class, LancamentoProtobufHttpMessageConverter.APPLICATION_PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(LancamentoDTO.class, MediaType.APPLICATION_JSON)).isFalse();
+
+        assertThatThrownBy(() -> converter.write(List.of("texto"),
+                LancamentoProtobufHttpMessageConverter.APPLICATION_PROTOBUF, new MockHttpOutputMessage()))
+                .isInstanceOf(HttpMessageNotWritableException.class);
+    }
+
+    private static LancamentoDTO criarLancamento(Long id) {
+        return LancamentoDTO.builder()
+                .id(id)
+                .descricao("Conta de luz")
+                .mes(3)
+                .ano(2019)
+                .valor(new BigDecimal("150.25"))
+                .usuario(1L)
+                .tipo("DESPESA")
+                .status("PENDENTE")
+                .versao(0L)
+                .build();
+    }
+}
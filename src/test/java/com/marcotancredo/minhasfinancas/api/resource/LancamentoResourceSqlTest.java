@@ -0,0 +1,100 @@
+package com.marcotancredo.minhasfinancas.api.resource;
+
+import com.marcotancredo.minhasfinancas.config.ContadorSql;
+import com.marcotancredo.minhasfinancas.config.ContagemSql;
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import com.marcotancredo.minhasfinancas.model.repository.LancamentoRepository;
+import com.marcotancredo.minhasfinancas.model.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.marcotancredo.minhasfinancas.config.ContagemSqlAssert.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+public class LancamentoResourceSqlTest {
+
+    static final String API = "/api/lancamentos";
+
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    UsuarioRepository usuarioRepository;
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+
+    Usuario usuario;
+    List<Lancamento> lancamentos;
+
+    @BeforeEach
+    public void setUp() {
+        usuario = usuarioRepository.save(Usuario.builder()
+                .nome("usuario").email("sql-" + System.nanoTime() + "@email.com").senha("senha").build());
+        lancamentos = lancamentoRepository.saveAll(List.of(criarLancamento(1), criarLancamento(2)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        lancamentoRepository.deleteAll(lancamentos);
+        usuarioRepository.delete(usuario);
+    }
+
+    @Test
+    public void deveListarOsLancamentosComUmComandoPorTabela() throws Exception {
+        ContagemSql contagem = ContadorSql.medir(() -> mvc.perform(get(API).param("usuario", usuario.getId().toString()))
+                .andExpect(status().isOk()));
+
+        // sem filtro de ano a listagem também consulta o arquivo de anos fechados
+        assertThat(contagem).executouNoMaximo(2).leuNoMaximo(2);
+    }
+
+    @Test
+    public void deveObterUmLancamentoComUmUnicoComando() throws Exception {
+        ContagemSql contagem = ContadorSql.medir(() -> mvc.perform(get(API + "/" + lancamentos.get(0).getId()))
+                .andExpect(status().isOk()));
+
+        assertThat(contagem).executouNoMaximo(1).leuNoMaximo(1);
+    }
+
+    @Test
+    public void deveConferirOUsuarioApenasQuandoAListagemVierVazia() throws Exception {
+        ContagemSql contagem = ContadorSql.medir(() -> mvc.perform(get(API).param("usuario", "-1"))
+                .andExpect(status().isBadRequest()));
+
+        assertThat(contagem).executouNoMaximo(3);
+    }
+
+    private Lancamento criarLancamento(int mes) {
+        return Lancamento.builder()
+                .descricao("lancamento " + mes)
+                .mes(mes)
+                .ano(2019)
+                .valor(BigDecimal.TEN)
+                .tipo(TipoLancamento.RECEITA)
+                .status(StatusLancamento.PENDENTE)
+                .dataCadastro(LocalDate.now())
+                .usuario(usuario)
+                .build();
+    }
+}
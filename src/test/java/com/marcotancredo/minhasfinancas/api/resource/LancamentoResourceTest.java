@@ -0,0 +1,159 @@
+package com.marcotancredo.minhasfinancas.api.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO;
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import com.marcotancredo.minhasfinancas.model.repository.LancamentoRepository;
+import com.marcotancredo.minhasfinancas.model.repository.UsuarioRepository;
+import com.marcotancredo.minhasfinancas.model.service.ArquivamentoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+public class LancamentoResourceTest {
+
+    static final String API = "/api/lancamentos";
+
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    UsuarioRepository usuarioRepository;
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+    @Autowired
+    ArquivamentoService arquivamentoService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Usuario usuario;
+    int anoCorte;
+
+    @BeforeEach
+    public void setUp() {
+        anoCorte = arquivamentoService.obterAnoCorte();
+        usuario = usuarioRepository.save(Usuario.builder()
+                .nome("usuario").email("resource-" + System.nanoTime() + "@email.com").senha("senha").build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from financas.lancamento_arquivo where id_usuario = ?", usuario.getId());
+        jdbcTemplate.update("delete from financas.resumo_arquivado where id_usuario = ?", usuario.getId());
+        jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+        jdbcTemplate.update("delete from financas.saldo_usuario where id_usuario = ?", usuario.getId());
+        usuarioRepository.delete(usuario);
+    }
+
+    @Test
+    public void deveRetornarOLancamentoComOStatusAtualizado() throws Exception {
+        Lancamento lancamento = lancamentoRepository.save(criarLancamento(2019, 1, "mercado"));
+
+        mvc.perform(put(API + "/" + lancamento.getId() + "/atualiza-status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"EFETIVADO\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("id").value(lancamento.getId()))
+                .andExpect(jsonPath("descricao").value("mercado"))
+                .andExpect(jsonPath("status").value("EFETIVADO"))
+                .andExpect(jsonPath("versao").value(lancamento.getVersao() + 1));
+    }
+
+    @Test
+    public void deveExportarEmNdjsonIncluindoOsLancamentosArquivados() throws Exception {
+        List<Lancamento> lancamentos = criarLancamentosComArquivado();
+
+        String conteudo = mvc.perform(get(API + "/export").param("usuario", usuario.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<LancamentoDTO> exportados = new ArrayList<>();
+        for (String linha : conteudo.split("\n")) {
+            exportados.add(objectMapper.readValue(linha, LancamentoDTO.class));
+        }
+        assertThat(exportados).extracting(LancamentoDTO::getId)
+                .containsExactly(lancamentos.get(0).getId(), lancamentos.get(1).getId());
+        assertThat(exportados).extracting(LancamentoDTO::getUsuario).containsOnly(usuario.getId());
+    }
+
+    @Test
+    public void deveExportarEmCsvIncluindoOsLancamentosArquivados() throws Exception {
+        List<Lancamento> lancamentos = criarLancamentosComArquivado();
+
+        String conteudo = mvc.perform(get(API + "/export").param("usuario", usuario.getId().toString())
+                        .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(conteudo.split("\n")).containsExactly(
+                "id,descricao,mes,ano,valor,tipo,status,data_cadastro",
+                lancamentos.get(0).getId() + ",\"mercado, \"\"centro\"\"\",1,2019,10.00,RECEITA,PENDENTE," + LocalDate.now(),
+                lancamentos.get(1).getId() + ",salário,2," + anoCorte + ",10.00,RECEITA,PENDENTE," + LocalDate.now());
+    }
+
+    @Test
+    public void naoDeveExportarOsLancamentosDeUmUsuarioInexistente() throws Exception {
+        mvc.perform(get(API + "/export").param("usuario", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // o de 2019 vai para o arquivo de anos fechados
+    private List<Lancamento> criarLancamentosComArquivado() {
+        List<Lancamento> lancamentos = lancamentoRepository.saveAll(List.of(
+                criarLancamento(2019, 1, "mercado, \"centro\""),
+                criarLancamento(anoCorte, 2, "salário")));
+        while (arquivamentoService.arquivarLote(usuario.getId(), anoCorte) > 0) {
+            // repete até não sobrar lançamento de ano fechado
+        }
+        assertThat(jdbcTemplate.queryForObject("select count(*) from financas.lancamento_arquivo where id_usuario = ?",
+                Long.class, usuario.getId())).isEqualTo(1);
+        return lancamentos;
+    }
+
+    private Lancamento criarLancamento(int ano, int mes, String descricao) {
+        return Lancamento.builder()
+                .descricao(descricao)
+                .mes(mes)
+                .ano(ano)
+                .valor(BigDecimal.TEN)
+                .tipo(TipoLancamento.RECEITA)
+                .status(StatusLancamento.PENDENTE)
+                .dataCadastro(LocalDate.now())
+                .usuario(usuario)
+                .build();
+    }
+}
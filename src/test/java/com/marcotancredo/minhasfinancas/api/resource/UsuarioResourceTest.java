@@ -7,8 +7,10 @@ import com.marcotancredo.minhasfinancas.api.dto.UsuarioDTO;
 import com.marcotancredo.minhasfinancas.model.entity.Usuario;
 import com.marcotancredo.minhasfinancas.model.exception.ErroAutenticacao;
 import com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException;
+import com.marcotancredo.minhasfinancas.model.service.CuboLancamentosService;
 import com.marcotancredo.minhasfinancas.model.service.LancamentoService;
 import com.marcotancredo.minhasfinancas.model.service.UsuarioService;
+import com.marcotancredo.minhasfinancas.model.service.VersaoDadosUsuarioService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
@@ -42,6 +44,10 @@ public class UsuarioResourceTest {
     UsuarioService service;
     @MockBean
     LancamentoService lancamentoService;
+    @MockBean
+    VersaoDadosUsuarioService versaoDadosUsuarioService;
+    @MockBean
+    CuboLancamentosService cuboLancamentosService;
 
     @Test
     public void deveAutenticarUmUsuario() throws Exception {
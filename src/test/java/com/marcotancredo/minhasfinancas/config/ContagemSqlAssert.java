@@ -0,0 +1,32 @@
+package com.marcotancredo.minhasfinancas.config;
+
+import org.assertj.core.api.AbstractAssert;
+
+public class ContagemSqlAssert extends AbstractAssert<ContagemSqlAssert, ContagemSql> {
+
+    private ContagemSqlAssert(ContagemSql contagem) {
+        super(contagem, ContagemSqlAssert.class);
+    }
+
+    public static ContagemSqlAssert assertThat(ContagemSql contagem) {
+        return new ContagemSqlAssert(contagem);
+    }
+
+    public ContagemSqlAssert executouNoMaximo(int comandos) {
+        isNotNull();
+        if (actual.getComandos() > comandos) {
+            failWithMessage("Esperava no máximo <%d> comando(s) SQL, mas foram executados <%d>: %s",
+                    comandos, actual.getComandos(), actual.getSqls());
+        }
+        return this;
+    }
+
+    public ContagemSqlAssert leuNoMaximo(long linhas) {
+        isNotNull();
+        if (actual.getLinhas() > linhas) {
+            failWithMessage("Esperava no máximo <%d> linha(s) lida(s), mas foram lidas <%d>: %s",
+                    linhas, actual.getLinhas(), actual.getSqls());
+        }
+        return this;
+    }
+}
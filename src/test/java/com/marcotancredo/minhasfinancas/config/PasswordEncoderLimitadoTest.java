@@ -0,0 +1,118 @@
+package com.marcotancredo.minhasfinancas.config;
+
+import com.marcotancredo.minhasfinancas.model.exception.ServicoIndisponivelException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class PasswordEncoderLimitadoTest {
+
+    CountDownLatch iniciou = new CountDownLatch(1);
+    CountDownLatch liberar = new CountDownLatch(1);
+    ExecutorService clientes = Executors.newFixedThreadPool(2);
+    PasswordEncoderLimitado encoder = new PasswordEncoderLimitado(new EncoderLento(), 1, 1, 5000, new SimpleMeterRegistry());
+
+    @AfterEach
+    public void tearDown() {
+        liberar.countDown();
+        clientes.shutdownNow();
+        encoder.destroy();
+    }
+
+    @Test
+    public void deveDelegarAoEncoderOriginal() throws Exception {
+        liberar.countDown();
+
+        assertThat(encoder.encode("senha")).isEqualTo("senha");
+        assertThat(encoder.matches("senha", "senha")).isTrue();
+    }
+
+    @Test
+    public void deveRecusarQuandoAFilaEstiverCheia() throws Exception {
+        Future<String> emExecucao = clientes.submit(() -> encoder.encode("primeira"));
+        assertThat(iniciou.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<String> naFila = clientes.submit(() -> encoder.encode("segunda"));
+        long limite = System.currentTimeMillis() + 5000;
+        while (encoder.tamanhoFila() == 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+
+        Throwable erro = catchThrowable(() -> encoder.encode("terceira"));
+
+        assertThat(erro).isInstanceOf(ServicoIndisponivelException.class);
+
+        liberar.countDown();
+        assertThat(emExecucao.get(5, TimeUnit.SECONDS)).isEqualTo("primeira");
+        assertThat(naFila.get(5, TimeUnit.SECONDS)).isEqualTo("segunda");
+    }
+
+    @Test
+    public void deveRecusarNaChegadaQuandoAEsperaPrevistaPassarDoLimite() throws Exception {
+        CountDownLatch iniciadas = new CountDownLatch(2);
+        PasswordEncoderLimitado limitado = new PasswordEncoderLimitado(new EncoderComDuracao(200, iniciadas), 1, 10,
+                100, new SimpleMeterRegistry());
+        try {
+            // a primeira operação define a duração média de 200 ms
+            limitado.encode("primeira");
+            Future<String> emExecucao = clientes.submit(() -> limitado.encode("segunda"));
+            assertThat(iniciadas.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Throwable erro = catchThrowable(() -> limitado.encode("terceira"));
+
+            assertThat(erro).isInstanceOf(ServicoIndisponivelException.class);
+            assertThat(limitado.tamanhoFila()).isZero();
+            assertThat(emExecucao.get(5, TimeUnit.SECONDS)).isEqualTo("segunda");
+        } finally {
+            limitado.destroy();
+        }
+    }
+
+    private record EncoderComDuracao(long duracaoMillis, CountDownLatch iniciadas) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            iniciadas.countDown();
+            try {
+                Thread.sleep(duracaoMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+
+    private class EncoderLento implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            iniciou.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.marcotancredo.minhasfinancas.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "minhasfinancas.replicas.ativo=true",
+        "minhasfinancas.replicas.urls=" + RoteamentoDataSourceTest.REPLICA_1 + "," + RoteamentoDataSourceTest.REPLICA_2
+})
+public class RoteamentoDataSourceTest {
+
+    static final String REPLICA_1 = "jdbc:h2:mem:replica1;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_2 = "jdbc:h2:mem:replica2;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    public static void criarReplicas() throws Exception {
+        criarOrigem(REPLICA_1, "replica1");
+        criarOrigem(REPLICA_2, "replica2");
+    }
+
+    @BeforeEach
+    public void setUp() {
+        // fora de uma transação a conexão sempre vem do primário
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists financas.origem (nome varchar(20))");
+        jdbcTemplate.execute("delete from financas.origem");
+        jdbcTemplate.execute("insert into financas.origem values ('primario')");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void deveEnviarAsTransacoesDeEscritaParaOPrimario() {
+        assertThat(origem(false)).isEqualTo("primario");
+    }
+
+    @Test
+    public void deveAlternarAsTransacoesSomenteLeituraEntreAsReplicas() {
+        assertThat(List.of(origem(true), origem(true))).containsExactlyInAnyOrder("replica1", "replica2");
+    }
+
+    @Test
+    public void deveLerDoPrimarioLogoDepoisDeUmaEscritaDoMesmoUsuario() {
+        autenticar("escreveu@email.com");
+        origem(false);
+
+        assertThat(origem(true)).isEqualTo("primario");
+
+        autenticar("outro@email.com");
+        assertThat(origem(true)).startsWith("replica");
+    }
+
+    private String origem(boolean somenteLeitura) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(somenteLeitura);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return transacao.execute(status -> jdbcTemplate.queryForObject("select nome from financas.origem", String.class));
+    }
+
+    private static void autenticar(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private static void criarOrigem(String url, String nome) throws Exception {
+        try (Connection conexao = DriverManager.getConnection(url, "sa", "sa");
+             Statement statement = conexao.createStatement()) {
+            statement.execute("create schema if not exists financas");
+            statement.execute("create table if not exists financas.origem (nome varchar(20))");
+            statement.execute("delete from financas.origem");
+            statement.execute("insert into financas.origem values ('" + nome + "')");
+        }
+    }
+}
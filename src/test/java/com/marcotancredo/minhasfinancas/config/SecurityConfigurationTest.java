@@ -0,0 +1,52 @@
+package com.marcotancredo.minhasfinancas.config;
+
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.service.JwtService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest(properties = "minhasfinancas.monitoramento.emails=monitor@email.com")
+@AutoConfigureMockMvc
+public class SecurityConfigurationTest {
+
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    JwtService jwtService;
+
+    @Test
+    public void deveRecusarAsMetricasParaUmUsuarioComum() throws Exception {
+        String token = token("usuario@email.com");
+
+        mvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void deveLiberarAsMetricasParaOMonitoramento() throws Exception {
+        mvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + token("monitor@email.com")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void deveManterOHealthAberto() throws Exception {
+        mvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    private String token(String email) {
+        return jwtService.gerarToken(Usuario.builder().id(1L).nome("usuario").email(email).build());
+    }
+}
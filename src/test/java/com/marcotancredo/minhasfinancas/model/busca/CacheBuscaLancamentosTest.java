@@ -0,0 +1,46 @@
+package com.marcotancredo.minhasfinancas.model.busca;
+
+import com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO;
+import com.marcotancredo.minhasfinancas.model.service.VersaoDadosUsuarioService;
+import com.marcotancredo.minhasfinancas.model.service.impl.VersaoDadosUsuarioServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheBuscaLancamentosTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    VersaoDadosUsuarioService versaoDadosUsuarioService = new VersaoDadosUsuarioServiceImpl();
+    CacheBuscaLancamentos cache = new CacheBuscaLancamentos(versaoDadosUsuarioService, meterRegistry, 100, 10);
+    AtomicInteger consultas = new AtomicInteger();
+
+    @Test
+    public void deveReaproveitarOResultadoAteOUsuarioAlterarSeusDados() {
+        List<LancamentoDTO> primeira = cache.obter(1L, 2019, null, "%", () -> consultar(3));
+        List<LancamentoDTO> segunda = cache.obter(1L, 2019, null, "%", () -> consultar(3));
+        cache.obter(2L, 2019, null, "%", () -> consultar(3));
+
+        versaoDadosUsuarioService.registrarAlteracao(2L);
+        List<LancamentoDTO> aposOutroUsuario = cache.obter(1L, 2019, null, "%", () -> consultar(3));
+        versaoDadosUsuarioService.registrarAlteracao(1L);
+        cache.obter(1L, 2019, null, "%", () -> consultar(3));
+
+        assertThat(segunda).isSameAs(primeira);
+        assertThat(aposOutroUsuario).isSameAs(primeira);
+        assertThat(consultas).hasValue(3);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "lancamentos.busca").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    private List<LancamentoDTO> consultar(int linhas) {
+        consultas.incrementAndGet();
+        return IntStream.range(0, linhas)
+                .mapToObj(id -> LancamentoDTO.builder().id((long) id).build())
+                .toList();
+    }
+}
@@ -0,0 +1,71 @@
+package com.marcotancredo.minhasfinancas.model.busca;
+
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IndiceTrigrama.class)
+public class IndiceTrigramaTest {
+
+    @Autowired
+    IndiceTrigrama indice;
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Test
+    public void deveIndexarADescricaoAoSalvarUmLancamento() {
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        Lancamento mercado = persistirLancamento(usuario, "Supermercado do bairro");
+        persistirLancamento(usuario, "Conta de luz");
+        entityManager.flush();
+
+        List<Long> candidatos = indice.buscarCandidatos(usuario.getId(), Trigramas.extrair("MERCADO"));
+
+        assertThat(indice.isAtivo()).isTrue();
+        assertThat(candidatos).containsExactly(mercado.getId());
+    }
+
+    @Test
+    public void deveRemoverOsTrigramasAoExcluirUmLancamento() {
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        Lancamento lancamento = persistirLancamento(usuario, "Supermercado do bairro");
+        entityManager.flush();
+
+        entityManager.remove(lancamento);
+        entityManager.flush();
+
+        assertThat(indice.buscarCandidatos(usuario.getId(), Trigramas.extrair("mercado"))).isEmpty();
+    }
+
+    @Test
+    public void deveCalcularASimilaridadeEntreTrigramas() {
+        assertThat(Trigramas.extrair("Luz")).containsExactly("luz");
+        assertThat(Trigramas.similaridade(Trigramas.extrair("luz"), Trigramas.extrair("luz"))).isEqualTo(1.0);
+        assertThat(Trigramas.similaridade(Trigramas.extrair("luz"), Trigramas.extrair("conta de luz")))
+                .isGreaterThan(Trigramas.similaridade(Trigramas.extrair("luz"), Trigramas.extrair("conta de luz e gás")));
+    }
+
+    private Lancamento persistirLancamento(Usuario usuario, String descricao) {
+        Lancamento lancamento = LancamentoRepositoryTest.criaLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setDescricao(descricao);
+        return entityManager.persist(lancamento);
+    }
+}
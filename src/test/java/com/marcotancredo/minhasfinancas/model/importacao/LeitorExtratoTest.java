@@ -0,0 +1,78 @@
+package com.marcotancredo.minhasfinancas.model.importacao;
+
+import com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class LeitorExtratoTest {
+
+    @Test
+    public void deveLerUmExtratoCsvIgnorandoOCabecalho() throws Exception {
+        LeitorExtrato leitor = leitor(FormatoExtrato.CSV, """
+                data;descricao;valor
+                15/01/2024;"Mercado; centro";-1.234,56
+                2024-02-01;Salário;5000,00
+                """);
+
+        LinhaExtrato primeira = leitor.proxima();
+        LinhaExtrato segunda = leitor.proxima();
+
+        assertThat(primeira.getData()).isEqualTo(LocalDate.of(2024, 1, 15));
+        assertThat(primeira.getDescricao()).isEqualTo("Mercado; centro");
+        assertThat(primeira.getValor()).isEqualByComparingTo("-1234.56");
+        assertThat(segunda.getValor()).isEqualByComparingTo("5000");
+        assertThat(leitor.proxima()).isNull();
+    }
+
+    @Test
+    public void deveContinuarALeituraAposUmaLinhaCsvInvalida() throws Exception {
+        LeitorExtrato leitor = leitor(FormatoExtrato.CSV, """
+                2024-01-15,Mercado,abc
+                2024-01-16,Padaria,-10.50
+                """);
+
+        Throwable erro = catchThrowable(leitor::proxima);
+        LinhaExtrato linha = leitor.proxima();
+
+        assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Linha 1: valor inválido");
+        assertThat(linha.getDescricao()).isEqualTo("Padaria");
+        assertThat(linha.getValor()).isEqualByComparingTo("-10.50");
+    }
+
+    @Test
+    public void deveLerAsTransacoesDeUmExtratoOfx() throws Exception {
+        LeitorExtrato leitor = leitor(FormatoExtrato.OFX, """
+                OFXHEADER:100
+                DATA:OFXSGML
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20240115120000[-3:BRT]
+                <TRNAMT>-50.00
+                <MEMO>Farmácia &amp; cia
+                </STMTTRN>
+                <STMTTRN><TRNTYPE>CREDIT</TRNTYPE><DTPOSTED>20240201</DTPOSTED><TRNAMT>100.00</TRNAMT><NAME>Pix</NAME></STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """);
+
+        LinhaExtrato primeira = leitor.proxima();
+        LinhaExtrato segunda = leitor.proxima();
+
+        assertThat(primeira.getData()).isEqualTo(LocalDate.of(2024, 1, 15));
+        assertThat(primeira.getDescricao()).isEqualTo("Farmácia & cia");
+        assertThat(primeira.getValor()).isEqualByComparingTo("-50");
+        assertThat(segunda.getData()).isEqualTo(LocalDate.of(2024, 2, 1));
+        assertThat(segunda.getDescricao()).isEqualTo("Pix");
+        assertThat(leitor.proxima()).isNull();
+    }
+
+    private static LeitorExtrato leitor(FormatoExtrato formato, String conteudo) {
+        return formato.criarLeitor(new BufferedReader(new StringReader(conteudo)));
+    }
+}
@@ -1,6 +1,8 @@
 package com.marcotancredo.minhasfinancas.model.repository;
 
+import com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO;
 import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
 import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
 import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
 import org.assertj.core.api.Assertions;
@@ -10,11 +12,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -79,6 +84,144 @@ public class LancamentoRepositoryTest {
         assertThat(lancamentoEncontrado.isPresent()).isTrue();
     }
 
+    @Test
+    public void deveBuscarLancamentosPaginadosPorCursor() {
+        Usuario usuario = criarEPersistirUsuario();
+        Lancamento janeiro = criarEPersistirLancamento(usuario, 2019, 1);
+        Lancamento fevereiro = criarEPersistirLancamento(usuario, 2019, 2);
+        Lancamento marco = criarEPersistirLancamento(usuario, 2019, 3);
+
+        Slice<LancamentoDTO> primeiraPagina = repository.buscarPrimeiraPagina(usuario.getId(), 2019, null, "%",
+                PageRequest.ofSize(2));
+
+        assertThat(primeiraPagina.getContent()).extracting(LancamentoDTO::getId)
+                .containsExactly(janeiro.getId(), fevereiro.getId());
+        assertThat(primeiraPagina.hasNext()).isTrue();
+
+        Slice<LancamentoDTO> segundaPagina = repository.buscarPaginaApos(usuario.getId(), 2019, null, "%",
+                fevereiro.getAno(), fevereiro.getMes(), fevereiro.getId(), PageRequest.ofSize(2));
+
+        assertThat(segundaPagina.getContent()).extracting(LancamentoDTO::getId).containsExactly(marco.getId());
+        assertThat(segundaPagina.hasNext()).isFalse();
+    }
+
+    @Test
+    public void deveObterOsTotaisAgrupadosPorPeriodoTipoEStatus() {
+        Usuario usuario = criarEPersistirUsuario();
+        criarEPersistirLancamento(usuario, 2019, 1);
+        criarEPersistirLancamento(usuario, 2019, 1);
+        criarEPersistirLancamento(usuario, 2019, 2);
+        criarEPersistirLancamento(usuario, 2020, 1);
+
+        List<TotalPeriodo> totais = repository.obterTotaisPorPeriodo(usuario.getId());
+
+        assertThat(totais).hasSize(3);
+        assertThat(totais).filteredOn(total -> total.getAno() == 2019 && total.getMes() == 1).singleElement()
+                .satisfies(total -> {
+                    assertThat(total.getTipo()).isEqualTo(TipoLancamento.RECEITA);
+                    assertThat(total.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+                    assertThat(total.getTotal()).isEqualByComparingTo("20");
+                });
+    }
+
+    @Test
+    public void deveAtualizarOStatusDosLancamentosDoFiltroEmUmaUnicaInstrucao() {
+        Usuario usuario = criarEPersistirUsuario();
+        Lancamento janeiro = criarEPersistirLancamento(usuario, 2019, 1);
+        Lancamento fevereiro = criarEPersistirLancamento(usuario, 2019, 2);
+
+        int atualizados = repository.atualizarStatusPorFiltro(usuario.getId(), 2019, 1, null, StatusLancamento.EFETIVADO);
+        entityManager.clear();
+
+        assertThat(atualizados).isEqualTo(1);
+        assertThat(entityManager.find(Lancamento.class, janeiro.getId()).getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+        assertThat(entityManager.find(Lancamento.class, fevereiro.getId()).getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+    }
+
+    @Test
+    public void deveDeletarApenasOsLancamentosDoUsuarioInformado() {
+        Usuario usuario = criarEPersistirUsuario();
+        Usuario outroUsuario = entityManager.persist(Usuario.builder().nome("outro").email("outro@email.com").senha("senha").build());
+        Lancamento lancamento = criarEPersistirLancamento(usuario, 2019, 1);
+        Lancamento lancamentoDeOutroUsuario = criarEPersistirLancamento(outroUsuario, 2019, 1);
+
+        int excluidos = repository.deletarPorIds(usuario.getId(), List.of(lancamento.getId(), lancamentoDeOutroUsuario.getId()));
+        entityManager.clear();
+
+        assertThat(excluidos).isEqualTo(1);
+        assertThat(entityManager.find(Lancamento.class, lancamento.getId())).isNull();
+        assertThat(entityManager.find(Lancamento.class, lancamentoDeOutroUsuario.getId())).isNotNull();
+    }
+
+    @Test
+    public void deveListarLancamentosDiretamenteComoDTO() {
+        Usuario usuario = criarEPersistirUsuario();
+        Lancamento lancamento = criarEPersistirLancamento(usuario, 2019, 1);
+        criarEPersistirLancamento(usuario, 2019, 2);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<LancamentoDTO> lancamentos = repository.listarPorFiltro(usuario.getId(), 2019, 1, "%");
+
+        assertThat(lancamentos).hasSize(1);
+        LancamentoDTO dto = lancamentos.get(0);
+        assertThat(dto.getId()).isEqualTo(lancamento.getId());
+        assertThat(dto.getUsuario()).isEqualTo(usuario.getId());
+        assertThat(dto.getTipo()).isEqualTo(lancamento.getTipo().name());
+        assertThat(dto.getStatus()).isEqualTo(lancamento.getStatus().name());
+        assertThat(repository.obterDTOPorId(lancamento.getId())).map(LancamentoDTO::getDescricao)
+                .contains(lancamento.getDescricao());
+    }
+
+    @Test
+    public void deveAtualizarApenasOsCamposInformadosQuandoAVersaoConfere() {
+        Usuario usuario = criarEPersistirUsuario();
+        Lancamento lancamento = criarEPersistirLancamento(usuario, 2019, 1);
+        Long versao = lancamento.getVersao();
+
+        Lancamento alteracoes = new Lancamento();
+        alteracoes.setDescricao("nova descricao");
+
+        int versaoDivergente = repository.atualizarCampos(lancamento.getId(), versao + 1, alteracoes);
+        int atualizados = repository.atualizarCampos(lancamento.getId(), versao, alteracoes);
+        entityManager.clear();
+
+        Lancamento atualizado = entityManager.find(Lancamento.class, lancamento.getId());
+        assertThat(versaoDivergente).isZero();
+        assertThat(atualizados).isEqualTo(1);
+        assertThat(atualizado.getDescricao()).isEqualTo("nova descricao");
+        assertThat(atualizado.getValor()).isEqualByComparingTo(lancamento.getValor());
+        assertThat(atualizado.getVersao()).isEqualTo(versao + 1);
+    }
+
+    private Usuario criarEPersistirUsuario() {
+        Usuario usuario = Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build();
+        return entityManager.persist(usuario);
+    }
+
+    @Test
+    public void deveFiltrarADescricaoComCuringasEscapados() {
+        Usuario usuario = criarEPersistirUsuario();
+        Lancamento comPercentual = criarEPersistirLancamento(usuario, 2019, 1);
+        comPercentual.setDescricao("Desconto 50% loja");
+        Lancamento semPercentual = criarEPersistirLancamento(usuario, 2019, 1);
+        semPercentual.setDescricao("Desconto 500 loja");
+        entityManager.flush();
+        entityManager.clear();
+
+        List<LancamentoDTO> lancamentos = repository.listarPorFiltro(usuario.getId(), 2019, 1, "%50!%%");
+
+        assertThat(lancamentos).extracting(LancamentoDTO::getId).containsExactly(comPercentual.getId());
+    }
+
+    private Lancamento criarEPersistirLancamento(Usuario usuario, int ano, int mes) {
+        Lancamento lancamento = criaLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setAno(ano);
+        lancamento.setMes(mes);
+        return entityManager.persist(lancamento);
+    }
+
     private Lancamento criarEPersistirLancamento() {
         Lancamento lancamento = criaLancamento();
         entityManager.persist(lancamento);
@@ -0,0 +1,68 @@
+package com.marcotancredo.minhasfinancas.model.repository;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class PlanoConsultaTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // UsuarioRepository.existsByEmail / findByEmail
+            "select u.id from financas.usuario u where u.email = 'usuario@email.com'",
+            // LancamentoRepository.obterSaldoPorTipoLancamentoEUsuarioEStatus
+            "select sum(l.valor) from financas.lancamento l join financas.usuario u on u.id = l.id_usuario " +
+                    "where u.id = 1 and l.tipo = 'RECEITA' and l.status = 'EFETIVADO' group by u.id",
+            // LancamentoRepository.obterTotaisPorPeriodo
+            "select l.ano, l.mes, l.tipo, l.status, sum(l.valor) from financas.lancamento l " +
+                    "where l.id_usuario = 1 group by l.ano, l.mes, l.tipo, l.status",
+            // LancamentoRepository.listarPorFiltro / buscarPrimeiraPagina
+            "select l.id, l.descricao, l.mes, l.ano, l.valor from financas.lancamento l " +
+                    "where l.id_usuario = 1 and l.ano = 2019 and lower(l.descricao) like '%' " +
+                    "order by l.ano, l.mes, l.id",
+            // LancamentoRepository.buscarPaginaApos
+            "select l.id from financas.lancamento l where l.id_usuario = 1 and lower(l.descricao) like '%' " +
+                    "and (l.ano > 2019 or (l.ano = 2019 and l.mes > 1) or (l.ano = 2019 and l.mes = 1 and l.id > 10)) " +
+                    "order by l.ano, l.mes, l.id",
+            // LancamentoRepository.streamPorUsuario
+            "select l.id from financas.lancamento l where l.id_usuario = 1 order by l.ano, l.mes, l.id",
+            // LancamentoRepository.atualizarStatusPorFiltro / deletarPorFiltro
+            "select l.id from financas.lancamento l where l.id_usuario = 1 and l.ano = 2019 and l.mes = 1",
+            // LancamentoRepository.atualizarStatusPorIds / deletarPorIds
+            "select l.id from financas.lancamento l where l.id_usuario = 1 and l.id in (1, 2, 3)",
+            // LancamentoArquivadoRepository.listarPorFiltro / buscarPaginaApos
+            "select a.id from financas.lancamento_arquivo a where a.id_usuario = 1 and a.ano = 2019 " +
+                    "order by a.ano, a.mes, a.id",
+            // LancamentoRepository.buscarIdsAntesDe
+            "select l.id from financas.lancamento l where l.id_usuario = 1 and l.ano < 2025 order by l.id",
+            // ResumoArquivadoRepository.obterTotaisPorPeriodo
+            "select r.ano, r.mes, r.tipo, r.status, sum(r.total) from financas.resumo_arquivado r " +
+                    "where r.id_usuario = 1 group by r.ano, r.mes, r.tipo, r.status",
+            // ResumoArquivadoRepository.acumular
+            "select r.id from financas.resumo_arquivado r where r.id_usuario = 1 and r.ano = 2019 " +
+                    "and r.mes = 1 and r.tipo = 'RECEITA' and r.status = 'EFETIVADO'",
+            // SaldoUsuarioRepository.reconstruirPorUsuario
+            "select l.id_usuario, sum(case when l.tipo = 'RECEITA' then l.valor else -l.valor end) " +
+                    "from financas.lancamento l where l.id_usuario = 1 and l.status = 'EFETIVADO' group by l.id_usuario"
+    })
+    public void deveUtilizarUmIndiceNaConsulta(String sql) {
+        String plano = jdbcTemplate.queryForObject("explain " + sql, String.class);
+
+        assertThat(plano).doesNotContainIgnoringCase("tableScan");
+    }
+}
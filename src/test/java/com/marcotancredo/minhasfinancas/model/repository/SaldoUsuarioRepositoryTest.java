@@ -0,0 +1,84 @@
+package com.marcotancredo.minhasfinancas.model.repository;
+
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.SaldoUsuario;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class SaldoUsuarioRepositoryTest {
+
+    @Autowired
+    SaldoUsuarioRepository repository;
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Test
+    public void deveAcumularUmValorNoSaldoExistente() {
+        entityManager.persist(SaldoUsuario.builder().idUsuario(1L).saldo(BigDecimal.TEN).build());
+
+        int atualizados = repository.acumular(1L, BigDecimal.ONE.negate());
+        entityManager.clear();
+
+        assertThat(atualizados).isEqualTo(1);
+        assertThat(repository.findById(1L).get().getSaldo()).isEqualByComparingTo("9");
+    }
+
+    @Test
+    public void naoDeveAcumularQuandoUsuarioNaoPossuiSaldo() {
+        int atualizados = repository.acumular(1L, BigDecimal.TEN);
+
+        assertThat(atualizados).isZero();
+    }
+
+    @Test
+    public void deveReconstruirOSaldoAPartirDosLancamentosEfetivados() {
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, new BigDecimal("100"));
+        persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, new BigDecimal("30"));
+        persistirLancamento(usuario, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, new BigDecimal("50"));
+
+        repository.reconstruir(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+        entityManager.clear();
+
+        assertThat(repository.findById(usuario.getId()).get().getSaldo()).isEqualByComparingTo("70");
+    }
+
+    @Test
+    public void deveRecalcularOSaldoDeUmUsuarioSobreALinhaExistente() {
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        entityManager.persist(SaldoUsuario.builder().idUsuario(usuario.getId()).saldo(BigDecimal.TEN).build());
+        persistirLancamento(usuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, new BigDecimal("100"));
+
+        int atualizados = repository.reconstruirPorUsuario(usuario.getId(), TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+        entityManager.clear();
+
+        assertThat(atualizados).isEqualTo(1);
+        assertThat(repository.findById(usuario.getId()).get().getSaldo()).isEqualByComparingTo("100");
+    }
+
+    private void persistirLancamento(Usuario usuario, TipoLancamento tipo, StatusLancamento status, BigDecimal valor) {
+        Lancamento lancamento = LancamentoRepositoryTest.criaLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setTipo(tipo);
+        lancamento.setStatus(status);
+        lancamento.setValor(valor);
+        entityManager.persist(lancamento);
+    }
+}
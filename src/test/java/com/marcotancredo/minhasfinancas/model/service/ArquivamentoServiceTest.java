@@ -0,0 +1,138 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import com.marcotancredo.minhasfinancas.api.dto.LancamentoDTO;
+import com.marcotancredo.minhasfinancas.model.cubo.CuboLancamentos;
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import com.marcotancredo.minhasfinancas.model.repository.LancamentoRepository;
+import com.marcotancredo.minhasfinancas.model.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest(properties = "minhasfinancas.arquivamento.tamanho-lote=2")
+public class ArquivamentoServiceTest {
+
+    @Autowired
+    ArquivamentoService arquivamentoService;
+    @Autowired
+    LancamentoService lancamentoService;
+    @Autowired
+    SaldoUsuarioService saldoUsuarioService;
+    @Autowired
+    CuboLancamentosService cuboLancamentosService;
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+    @Autowired
+    UsuarioRepository usuarioRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Usuario usuario;
+    int anoCorte;
+
+    @BeforeEach
+    public void setUp() {
+        anoCorte = arquivamentoService.obterAnoCorte();
+        usuario = usuarioRepository.save(Usuario.builder()
+                .nome("usuario").email("arquivo-" + System.nanoTime() + "@email.com").senha("senha").build());
+        lancamentoRepository.saveAll(List.of(
+                criarLancamento(2019, 1, TipoLancamento.RECEITA, "1000.00"),
+                criarLancamento(2019, 1, TipoLancamento.DESPESA, "150.00"),
+                criarLancamento(2019, 2, TipoLancamento.DESPESA, "50.00"),
+                criarLancamento(anoCorte, 1, TipoLancamento.DESPESA, "10.00")));
+        saldoUsuarioService.reconstruir(usuario.getId());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from financas.lancamento_arquivo where id_usuario = ?", usuario.getId());
+        jdbcTemplate.update("delete from financas.resumo_arquivado where id_usuario = ?", usuario.getId());
+        jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+        jdbcTemplate.update("delete from financas.saldo_usuario where id_usuario = ?", usuario.getId());
+        usuarioRepository.delete(usuario);
+    }
+
+    @Test
+    public void deveMoverOsAnosFechadosParaOArquivoEmLotes() {
+        assertThat(arquivamentoService.listarUsuariosParaArquivar(anoCorte)).contains(usuario.getId());
+
+        assertThat(arquivamentoService.arquivarLote(usuario.getId(), anoCorte)).isEqualTo(2);
+        assertThat(arquivamentoService.arquivarLote(usuario.getId(), anoCorte)).isEqualTo(1);
+        assertThat(arquivamentoService.arquivarLote(usuario.getId(), anoCorte)).isZero();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from financas.lancamento where id_usuario = ?",
+                Long.class, usuario.getId())).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from financas.lancamento_arquivo where id_usuario = ?",
+                Long.class, usuario.getId())).isEqualTo(3);
+        assertThat(arquivamentoService.listarUsuariosParaArquivar(anoCorte)).doesNotContain(usuario.getId());
+    }
+
+    @Test
+    public void deveContinuarListandoOsLancamentosArquivados() {
+        arquivarTudo();
+
+        List<LancamentoDTO> lancamentos = lancamentoService.listar(Lancamento.builder().usuario(usuario).build());
+
+        assertThat(lancamentos).extracting(LancamentoDTO::getAno).containsExactly(2019, 2019, 2019, anoCorte);
+        assertThat(lancamentoService.obterDTOPorId(lancamentos.get(0).getId())).isPresent();
+    }
+
+    @Test
+    public void deveTotalizarOsAnosArquivadosPeloResumo() {
+        arquivarTudo();
+
+        CuboLancamentos cubo = cuboLancamentosService.obterCubo(usuario.getId());
+
+        assertThat(cubo.total(2019, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO)).isEqualTo(100000);
+        assertThat(cubo.total(2019, 1, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO)).isEqualTo(15000);
+        assertThat(cubo.total(2019, 2, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO)).isEqualTo(5000);
+        assertThat(cubo.saldoEfetivado()).isEqualTo(79000);
+    }
+
+    @Test
+    public void deveManterOSaldoAoReconstruirDepoisDoArquivamento() {
+        BigDecimal saldoAntes = saldoUsuarioService.obterSaldo(usuario.getId());
+
+        arquivarTudo();
+        saldoUsuarioService.reconstruir(usuario.getId());
+
+        assertThat(saldoUsuarioService.obterSaldo(usuario.getId())).isEqualByComparingTo(saldoAntes)
+                .isEqualByComparingTo("790.00");
+    }
+
+    private void arquivarTudo() {
+        while (arquivamentoService.arquivarLote(usuario.getId(), anoCorte) > 0) {
+            // repete até não sobrar lançamento de ano fechado
+        }
+    }
+
+    private Lancamento criarLancamento(int ano, int mes, TipoLancamento tipo, String valor) {
+        return Lancamento.builder()
+                .descricao("lancamento " + mes)
+                .mes(mes)
+                .ano(ano)
+                .valor(new BigDecimal(valor))
+                .tipo(tipo)
+                .status(StatusLancamento.EFETIVADO)
+                .dataCadastro(LocalDate.now())
+                .usuario(usuario)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import com.marcotancredo.minhasfinancas.model.cubo.CuboLancamentos;
+import com.marcotancredo.minhasfinancas.model.entity.Lancamento;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import com.marcotancredo.minhasfinancas.model.repository.LancamentoRepository;
+import com.marcotancredo.minhasfinancas.model.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Year;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+public class CuboLancamentosServiceTest {
+
+    @Autowired
+    CuboLancamentosService cuboLancamentosService;
+    @Autowired
+    LancamentoService lancamentoService;
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+    @Autowired
+    UsuarioRepository usuarioRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Usuario usuario;
+    int ano = Year.now().getValue();
+
+    @BeforeEach
+    public void setUp() {
+        usuario = usuarioRepository.save(Usuario.builder()
+                .nome("usuario").email("cubo-" + System.nanoTime() + "@email.com").senha("senha").build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+        jdbcTemplate.update("delete from financas.saldo_usuario where id_usuario = ?", usuario.getId());
+        usuarioRepository.delete(usuario);
+    }
+
+    @Test
+    public void deveAtualizarOCuboEmCacheDepoisDoCommit() {
+        CuboLancamentos cubo = cuboLancamentosService.obterCubo(usuario.getId());
+        assertThat(cubo.saldoEfetivado()).isZero();
+
+        Lancamento receita = lancamentoService.salvar(criarLancamento(3, TipoLancamento.RECEITA, "100.00"));
+        lancamentoService.salvar(criarLancamento(3, TipoLancamento.DESPESA, "30.50"));
+        assertThat(cubo.total(ano, 3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE)).isEqualTo(10000);
+
+        lancamentoService.atualizarStatus(receita, StatusLancamento.EFETIVADO);
+
+        assertThat(cuboLancamentosService.obterCubo(usuario.getId())).isSameAs(cubo);
+        assertThat(cubo.total(ano, 3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE)).isZero();
+        assertThat(cubo.total(ano, 3, TipoLancamento.DESPESA, StatusLancamento.PENDENTE)).isEqualTo(3050);
+        assertThat(cubo.saldoEfetivado()).isEqualTo(10000);
+        assertThat(cuboLancamentosService.verificarConsistencia(usuario.getId())).isTrue();
+    }
+
+    @Test
+    public void deveDescartarOCuboQueDivergeDoBanco() {
+        CuboLancamentos cubo = cuboLancamentosService.obterCubo(usuario.getId());
+
+        // gravado direto pelo repositório, sem passar pelo serviço que atualiza o cubo
+        Lancamento lancamento = criarLancamento(5, TipoLancamento.RECEITA, "42.00");
+        lancamento.setStatus(StatusLancamento.EFETIVADO);
+        lancamentoRepository.save(lancamento);
+
+        assertThat(cuboLancamentosService.verificarConsistencia(usuario.getId())).isFalse();
+        CuboLancamentos remontado = cuboLancamentosService.obterCubo(usuario.getId());
+        assertThat(remontado).isNotSameAs(cubo);
+        assertThat(remontado.saldoEfetivado()).isEqualTo(4200);
+    }
+
+    @Test
+    public void deveDescartarOCuboNasAlteracoesEmLote() {
+        lancamentoService.salvar(criarLancamento(1, TipoLancamento.DESPESA, "10.00"));
+        CuboLancamentos cubo = cuboLancamentosService.obterCubo(usuario.getId());
+
+        lancamentoService.atualizarStatusEmLote(Lancamento.builder().usuario(usuario).ano(ano).build(), null,
+                StatusLancamento.EFETIVADO);
+
+        CuboLancamentos remontado = cuboLancamentosService.obterCubo(usuario.getId());
+        assertThat(remontado).isNotSameAs(cubo);
+        assertThat(remontado.saldoEfetivado()).isEqualTo(-1000);
+    }
+
+    private Lancamento criarLancamento(int mes, TipoLancamento tipo, String valor) {
+        return Lancamento.builder()
+                .descricao("lancamento " + mes)
+                .mes(mes)
+                .ano(ano)
+                .valor(new BigDecimal(valor))
+                .tipo(tipo)
+                .dataCadastro(LocalDate.now())
+                .usuario(usuario)
+                .build();
+    }
+}
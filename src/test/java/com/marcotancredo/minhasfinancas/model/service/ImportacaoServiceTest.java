@@ -0,0 +1,61 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.importacao.FormatoExtrato;
+import com.marcotancredo.minhasfinancas.model.importacao.ResultadoImportacao;
+import com.marcotancredo.minhasfinancas.model.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+public class ImportacaoServiceTest {
+
+    @Autowired
+    ImportacaoService importacaoService;
+    @Autowired
+    UsuarioRepository usuarioRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Usuario usuario;
+
+    @BeforeEach
+    public void setUp() {
+        usuario = usuarioRepository.save(Usuario.builder()
+                .nome("usuario").email("importacao-" + System.nanoTime() + "@email.com").senha("senha").build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+        jdbcTemplate.update("delete from financas.saldo_usuario where id_usuario = ?", usuario.getId());
+        usuarioRepository.delete(usuario);
+    }
+
+    @Test
+    public void deveCortarADescricaoNoTamanhoDaColuna() {
+        String descricao = "a".repeat(150);
+
+        ResultadoImportacao resultado = importacaoService.importar(usuario, FormatoExtrato.CSV,
+                new BufferedReader(new StringReader("2024-01-15;" + descricao + ";-10,50\n")));
+
+        assertThat(resultado.getSituacao()).isEqualTo(ResultadoImportacao.Situacao.CONCLUIDA);
+        assertThat(resultado.getImportadas()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select descricao from financas.lancamento where id_usuario = ?",
+                String.class, usuario.getId())).isEqualTo("a".repeat(100));
+    }
+}
@@ -0,0 +1,72 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.service.impl.JwtServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JwtServiceTest {
+
+    SimpleMeterRegistry meterRegistry;
+    JwtService service;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new JwtServiceImpl("30", "cmlkZGlrdWx1cw==", 100, meterRegistry);
+    }
+
+    @Test
+    public void deveObterAsClaimsDeUmTokenValido() {
+        String token = service.gerarToken(criarUsuario());
+
+        Optional<Claims> claims = service.obterClaimsValidas(token);
+
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo("usuario@email.com");
+        assertThat(claims.get().get("userId", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    public void deveReutilizarAsClaimsVerificadasDeUmMesmoToken() {
+        String token = service.gerarToken(criarUsuario());
+
+        service.obterClaims(token);
+        service.obterClaims(token);
+        service.obterClaims(token);
+
+        assertThat(contagem("miss")).isEqualTo(1);
+        assertThat(contagem("hit")).isEqualTo(2);
+    }
+
+    @Test
+    public void naoDeveAceitarTokenAssinadoComOutraChave() {
+        JwtService outroServico = new JwtServiceImpl("30", "b3V0cmFjaGF2ZQ==", 100, new SimpleMeterRegistry());
+        String token = outroServico.gerarToken(criarUsuario());
+
+        assertThat(service.isTokenValido(token)).isFalse();
+    }
+
+    @Test
+    public void naoDeveAceitarTokenMalformado() {
+        assertThat(service.isTokenValido("token-invalido")).isFalse();
+    }
+
+    private double contagem(String resultado) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "jwt.claims")
+                .tag("result", resultado)
+                .functionCounter()
+                .count();
+    }
+
+    private static Usuario criarUsuario() {
+        return Usuario.builder().id(1L).nome("usuario").email("usuario@email.com").build();
+    }
+}
@@ -6,6 +6,7 @@ import com.marcotancredo.minhasfinancas.model.enums.StatusLancamento;
 import com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException;
 import com.marcotancredo.minhasfinancas.model.repository.LancamentoRepository;
 import com.marcotancredo.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.marcotancredo.minhasfinancas.model.repository.SituacaoLancamento;
 import com.marcotancredo.minhasfinancas.model.service.impl.LancamentoServiceImpl;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -15,11 +16,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.data.domain.Example;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +39,18 @@ public class LancamentoServiceTest {
     LancamentoServiceImpl service;
     @MockBean
     LancamentoRepository repository;
+    @MockBean
+    SaldoUsuarioService saldoUsuarioService;
+
+    @Test
+    public void deveTratarCuringasDaDescricaoComoTextoNaListagem() {
+        Lancamento filtro = Lancamento.builder().usuario(Usuario.builder().id(1L).build()).ano(2019)
+                .descricao(" 50%_off ").build();
+
+        service.listar(filtro);
+
+        verify(repository).listarPorFiltro(1L, 2019, null, "%50!%!_off%");
+    }
 
     @Test
     public void deveSalvarUmLancamento() {
@@ -61,6 +77,52 @@ public class LancamentoServiceTest {
         verify(repository, never()).save(lancamentoASalvar);
     }
 
+    @Test
+    public void deveSalvarUmLoteDeLancamentos() {
+        Lancamento primeiro = LancamentoRepositoryTest.criaLancamento();
+        Lancamento segundo = LancamentoRepositoryTest.criaLancamento();
+        List<Lancamento> lote = List.of(primeiro, segundo);
+
+        doNothing().when(service).validar(any(Lancamento.class));
+        when(repository.saveAll(lote)).thenReturn(lote);
+
+        List<Lancamento> salvos = service.salvarEmLote(lote);
+
+        assertThat(salvos).hasSize(2).allMatch(lancamento -> lancamento.getStatus() == StatusLancamento.PENDENTE);
+        verify(repository, times(1)).saveAll(lote);
+    }
+
+    @Test
+    public void naoDeveSalvarUmLoteComLancamentoInvalido() {
+        Lancamento valido = LancamentoRepositoryTest.criaLancamento();
+        Lancamento invalido = new Lancamento();
+        List<Lancamento> lote = List.of(valido, invalido);
+
+        doNothing().when(service).validar(valido);
+
+        Throwable erro = Assertions.catchThrowable(() -> service.salvarEmLote(lote));
+
+        Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class)
+                .hasMessage("Lançamento 2: Informe um descrição válida");
+        verify(repository, never()).saveAll(any());
+    }
+
+    @Test
+    public void deveApontarOPrimeiroLancamentoInvalidoDoLote() {
+        Lancamento valido = LancamentoRepositoryTest.criaLancamento();
+        List<Lancamento> lote = new ArrayList<>(Collections.nCopies(1000, valido));
+        lote.set(499, Lancamento.builder().descricao("sem mês").build());
+        lote.set(2, new Lancamento());
+
+        doNothing().when(service).validar(valido);
+
+        Throwable erro = Assertions.catchThrowable(() -> service.salvarEmLote(lote));
+
+        Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class)
+                .hasMessage("Lançamento 3: Informe um descrição válida");
+        verify(repository, never()).saveAll(any());
+    }
+
     @Test
     public void deveAtualizarUmLancamento() {
         Lancamento lancamentoSalvo = LancamentoRepositoryTest.criaLancamento();
@@ -76,6 +138,50 @@ public class LancamentoServiceTest {
         verify(repository, times(1)).save(lancamentoSalvo);
     }
 
+    @Test
+    public void deveRegistrarAlteracaoNoSaldoAoAtualizarUmLancamento() {
+        Lancamento anterior = LancamentoRepositoryTest.criaLancamento();
+        anterior.setId(1L);
+
+        Lancamento lancamento = LancamentoRepositoryTest.criaLancamento();
+        lancamento.setId(1L);
+        lancamento.setStatus(StatusLancamento.EFETIVADO);
+
+        doNothing().when(service).validar(lancamento);
+        when(repository.findById(1L)).thenReturn(Optional.of(anterior));
+        when(repository.save(lancamento)).thenReturn(lancamento);
+
+        service.atualizar(lancamento);
+
+        verify(saldoUsuarioService).registrarAlteracao(anterior, lancamento);
+    }
+
+    @Test
+    public void deveLancarConflitoAoAtualizarParcialmenteComVersaoDesatualizada() {
+        SituacaoLancamento situacao = mock(SituacaoLancamento.class);
+        when(situacao.getVersao()).thenReturn(2L);
+        when(repository.obterSituacao(1L)).thenReturn(Optional.of(situacao));
+
+        Lancamento alteracoes = new Lancamento();
+        alteracoes.setStatus(StatusLancamento.EFETIVADO);
+
+        Assertions.assertThatThrownBy(() -> service.atualizarParcialmente(1L, 1L, alteracoes))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        verify(repository, never()).atualizarCampos(any(), any(), any());
+        verify(saldoUsuarioService, never()).registrarAlteracao(any(), any());
+    }
+
+    @Test
+    public void deveObterOSaldoDaTabelaDeSaldos() {
+        when(saldoUsuarioService.obterSaldo(1L)).thenReturn(BigDecimal.TEN);
+
+        BigDecimal saldo = service.obterSaldoPorUsuarioEStatus(1L);
+
+        Assertions.assertThat(saldo).isEqualByComparingTo(BigDecimal.TEN);
+        verify(repository, never()).obterSaldoPorTipoLancamentoEUsuarioEStatus(any(), any(), any());
+    }
+
     @Test
     public void deveLancarErroAoTentarAtualizarUmLancamentoQueAindaNaoFoiSalvo() {
         Lancamento lancamentoASalvar = LancamentoRepositoryTest.criaLancamento();
@@ -0,0 +1,106 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import com.marcotancredo.minhasfinancas.model.entity.Recorrencia;
+import com.marcotancredo.minhasfinancas.model.entity.Usuario;
+import com.marcotancredo.minhasfinancas.model.enums.Periodicidade;
+import com.marcotancredo.minhasfinancas.model.enums.TipoLancamento;
+import com.marcotancredo.minhasfinancas.model.exception.RegraNegocioException;
+import com.marcotancredo.minhasfinancas.model.repository.UsuarioRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest(properties = "minhasfinancas.recorrencia.horizonte-meses=2")
+public class RecorrenciaServiceTest {
+
+    @Autowired
+    RecorrenciaService recorrenciaService;
+    @Autowired
+    UsuarioRepository usuarioRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Usuario usuario;
+    YearMonth atual = YearMonth.now();
+
+    @BeforeEach
+    public void setUp() {
+        usuario = usuarioRepository.save(Usuario.builder()
+                .nome("usuario").email("recorrencia-" + System.nanoTime() + "@email.com").senha("senha").build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+        jdbcTemplate.update("delete from financas.recorrencia where id_usuario = ?", usuario.getId());
+        usuarioRepository.delete(usuario);
+    }
+
+    @Test
+    public void deveGerarAsOcorrenciasAteOHorizonteUmaUnicaVez() {
+        Recorrencia recorrencia = recorrenciaService.criar(criarRecorrencia(false, 24, "1200.00"));
+
+        // mês atual mais os dois meses do horizonte
+        assertThat(recorrencia.getParcelasGeradas()).isEqualTo(3);
+        assertThat(recorrenciaService.gerar(recorrencia.getId())).isZero();
+        assertThat(parcelas(recorrencia)).containsExactly(1, 2, 3);
+        assertThat(recorrenciaService.listarParaEstender()).doesNotContain(recorrencia.getId());
+    }
+
+    @Test
+    public void deveGerarTodasAsParcelasDividindoOTotal() {
+        Recorrencia recorrencia = recorrenciaService.criar(criarRecorrencia(true, 3, "100.00"));
+
+        assertThat(recorrencia.getParcelasGeradas()).isEqualTo(3);
+        assertThat(recorrencia.getCompetenciaProxima()).isNull();
+        List<BigDecimal> valores = jdbcTemplate.queryForList("select valor from financas.lancamento " +
+                "where id_recorrencia = ? order by parcela", BigDecimal.class, recorrencia.getId());
+        assertThat(valores).usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("33.34"), new BigDecimal("33.33"), new BigDecimal("33.33"));
+        assertThat(jdbcTemplate.queryForObject("select descricao from financas.lancamento " +
+                "where id_recorrencia = ? and parcela = 3", String.class, recorrencia.getId())).isEqualTo("compra (3/3)");
+    }
+
+    @Test
+    public void naoDeveCriarUmParcelamentoSemQuantidade() {
+        Assertions.catchThrowableOfType(() -> recorrenciaService.criar(criarRecorrencia(true, null, "100.00")),
+                RegraNegocioException.class);
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from financas.recorrencia where id_usuario = ?",
+                Long.class, usuario.getId())).isZero();
+    }
+
+    private List<Integer> parcelas(Recorrencia recorrencia) {
+        return jdbcTemplate.queryForList("select parcela from financas.lancamento where id_recorrencia = ? " +
+                "order by parcela", Integer.class, recorrencia.getId());
+    }
+
+    private Recorrencia criarRecorrencia(boolean parcelado, Integer quantidade, String valor) {
+        return Recorrencia.builder()
+                .usuario(usuario)
+                .descricao("compra")
+                .valor(new BigDecimal(valor))
+                .tipo(TipoLancamento.DESPESA)
+                .periodicidade(Periodicidade.MENSAL)
+                .mesInicio(atual.getMonthValue())
+                .anoInicio(atual.getYear())
+                .quantidade(quantidade)
+                .parcelado(parcelado)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.marcotancredo.minhasfinancas.model.service;
+
+import com.marcotancredo.minhasfinancas.model.service.impl.VersaoDadosUsuarioServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersaoDadosUsuarioServiceTest {
+
+    VersaoDadosUsuarioService service = new VersaoDadosUsuarioServiceImpl();
+
+    @Test
+    public void deveAlterarAEtagApenasDoUsuarioAlterado() {
+        String etagUsuario = service.obterEtag(1L, MediaType.APPLICATION_JSON);
+        String etagOutroUsuario = service.obterEtag(2L, MediaType.APPLICATION_JSON);
+
+        service.registrarAlteracao(1L);
+
+        assertThat(service.obterEtag(1L, MediaType.APPLICATION_JSON)).isNotEqualTo(etagUsuario).startsWith("\"").endsWith("\"");
+        assertThat(service.obterEtag(2L, MediaType.APPLICATION_JSON)).isEqualTo(etagOutroUsuario);
+    }
+
+    @Test
+    public void deveAlterarAEtagSomenteAposOCommit() {
+        String etag = service.obterEtag(1L, MediaType.APPLICATION_JSON);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.registrarAlteracao(1L);
+            assertThat(service.obterEtag(1L, MediaType.APPLICATION_JSON)).isEqualTo(etag);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(service.obterEtag(1L, MediaType.APPLICATION_JSON)).isNotEqualTo(etag);
+    }
+
+    @Test
+    public void deveGerarEtagsDiferentesParaCadaFormato() {
+        String etagJson = service.obterEtag(1L, MediaType.APPLICATION_JSON);
+
+        assertThat(service.obterEtag(1L, MediaType.APPLICATION_CBOR)).isNotEqualTo(etagJson);
+    }
+}